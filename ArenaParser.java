@@ -0,0 +1,221 @@
+import java.util.Arrays;
+
+/**
+ * Class that parses statements into a SyntaxArena without recursion: the parts
+ *   still to be read are kept on an explicit stack (each entry is a task and the
+ *   node it adds to), so nesting depth is limited only by memory.  It is the
+ *   interpreter's only parser: every entry point (Interpreter, SillyEngine and
+ *   ProgramCache) reads statements through it.
+ *   @version 10/18/26
+ */
+public class ArenaParser {
+    private static final int STATEMENT = 0, EXPRESSION = 1, COMPOUND = 2, STATEMENTS = 3,
+        ARGUMENTS = 4, ITEMS = 5, ELSE = 6;
+
+    private TokenStream input;
+    private SyntaxArena arena;
+    private int[] tasks;
+    private int[] parents;
+    private int top;
+
+    /**
+     * Constructs a parser reading from a TokenStream.
+     *   @param input the stream to be read from
+     */
+    public ArenaParser(TokenStream input) {
+        this.input = input;
+        this.arena = new SyntaxArena();
+        this.tasks = new int[32];
+        this.parents = new int[32];
+    }
+
+    /**
+     * Reads in the next statement.
+     *   @return the statement
+     */
+    public Statement getStatement() throws Exception {
+        this.parse();
+        return this.arena.build();
+    }
+
+    /**
+     * Reads the next statement into the arena (replacing the previous one).
+     *   @return the arena holding the statement (its root is node 0)
+     */
+    public SyntaxArena parse() throws Exception {
+        this.arena.clear();
+        this.top = 0;
+        this.push(STATEMENT, SyntaxArena.NONE);
+        while (this.top > 0) {
+            this.top--;
+            int task = this.tasks[this.top];
+            int parent = this.parents[this.top];
+            switch (task) {
+                case STATEMENT:
+                    this.readStatement(parent);
+                    break;
+                case EXPRESSION:
+                    this.readExpression(parent);
+                    break;
+                case COMPOUND:
+                    if (!this.input.next().toString().equals("{")) {
+                        throw new Exception("SYNTAX ERROR: Malformed compound statement");
+                    }
+                    this.push(STATEMENTS, this.arena.addNode(parent, SyntaxArena.COMPOUND, SyntaxArena.NONE));
+                    break;
+                case STATEMENTS:
+                    if (this.input.lookAhead().toString().equals("}")) {
+                        this.input.next();
+                    } else {
+                        this.push(STATEMENTS, parent);
+                        this.push(STATEMENT, parent);
+                    }
+                    break;
+                case ARGUMENTS:
+                case ITEMS:
+                    if (this.input.lookAhead().toString().equals(task == ARGUMENTS ? ")" : "]")) {
+                        this.input.next();
+                    } else {
+                        this.push(task, parent);
+                        this.push(EXPRESSION, parent);
+                    }
+                    break;
+                default:
+                    if (!this.input.next().toString().equals("else")) {
+                        throw new Exception("SYNTAX ERROR: Malformed if statement");
+                    }
+                    break;
+            }
+        }
+        return this.arena;
+    }
+
+    private void push(int task, int parent) {
+        if (this.top == this.tasks.length) {
+            this.tasks = Arrays.copyOf(this.tasks, 2 * this.top);
+            this.parents = Arrays.copyOf(this.parents, 2 * this.top);
+        }
+        this.tasks[this.top] = task;
+        this.parents[this.top] = parent;
+        this.top++;
+    }
+
+    private int token(Token tok) {
+        return this.arena.addToken(tok);
+    }
+
+    /**
+     * Reads the start of a statement, pushing the tasks that read the rest of it
+     * (in reverse order).
+     *   @param parent the node the statement is added to
+     */
+    private void readStatement(int parent) throws Exception {
+        String first = this.input.lookAhead().toString();
+        if (first.equals("print")) {
+            this.input.next();
+            this.push(EXPRESSION, this.arena.addNode(parent, SyntaxArena.PRINT, SyntaxArena.NONE));
+        }
+        else if (first.equals("if")) {
+            this.input.next();
+            int node = this.arena.addNode(parent, SyntaxArena.IF, SyntaxArena.NONE);
+            this.push(COMPOUND, node);
+            this.push(ELSE, node);
+            this.push(COMPOUND, node);
+            this.push(EXPRESSION, node);
+        }
+        else if (first.equals("while")) {
+            this.input.next();
+            int node = this.arena.addNode(parent, SyntaxArena.WHILE, SyntaxArena.NONE);
+            this.push(COMPOUND, node);
+            this.push(EXPRESSION, node);
+        }
+        else if (first.equals("repeat")) {
+            this.input.next();
+            int node = this.arena.addNode(parent, SyntaxArena.REPEAT, SyntaxArena.NONE);
+            this.push(STATEMENT, node);
+            this.push(EXPRESSION, node);
+        }
+        else if (first.equals("{")) {
+            this.push(COMPOUND, parent);
+        }
+        else if (first.equals("func")) {
+            this.input.next();
+            this.readFunctionHeader(parent);
+        }
+        else if (this.input.lookAhead().getType() == Token.Type.IDENTIFIER) {
+            Token vbl = this.input.next();
+            if (!this.input.next().toString().equals("=")) {
+                throw new Exception("SYNTAX ERROR: Malformed assignment statement (expecting '=')");
+            }
+            this.push(EXPRESSION, this.arena.addNode(parent, SyntaxArena.ASSIGN, this.token(vbl)));
+        }
+        else if (first.equals("return")) {
+            this.input.next();
+            this.push(EXPRESSION, this.arena.addNode(parent, SyntaxArena.RETURN, SyntaxArena.NONE));
+        }
+        else {
+            throw new Exception("SYNTAX ERROR: Unknown statement type (" + first + ")");
+        }
+    }
+
+    /**
+     * Reads a function's name and parameters, pushing the task that reads its body.
+     *   @param parent the node the declaration is added to
+     */
+    private void readFunctionHeader(int parent) throws Exception {
+        int kind = SyntaxArena.FUNC;
+        Token idTok = this.input.next();
+        if (idTok.toString().equals("memo") && this.input.lookAhead().getType() == Token.Type.IDENTIFIER) {
+            kind = SyntaxArena.MEMO_FUNC;
+            idTok = this.input.next();
+        }
+        if (idTok.getType() != Token.Type.IDENTIFIER) {
+            throw new Exception("SYNTAX ERROR: Function name expected after 'func'");
+        }
+        if (!this.input.next().toString().equals("(")) {
+            throw new Exception("SYNTAX ERROR: '(' expected after function name");
+        }
+        int node = this.arena.addNode(parent, kind, this.token(idTok));
+        while (!this.input.lookAhead().toString().equals(")")) {
+            Token paramTok = this.input.next();
+            if (paramTok.getType() != Token.Type.IDENTIFIER) {
+                throw new Exception("SYNTAX ERROR: Parameter names must be identifiers.");
+            }
+            this.arena.addNode(node, SyntaxArena.PARAM, this.token(paramTok));
+        }
+        this.input.next();
+        this.push(COMPOUND, node);
+    }
+
+    /**
+     * Reads the start of an expression, pushing the task that reads its operands.
+     *   @param parent the node the expression is added to
+     */
+    private void readExpression(int parent) throws Exception {
+        Token tok = this.input.next();
+        if (tok.toString().equals("(")) {
+            Token.Type opType = this.input.lookAhead().getType();
+            if (opType != Token.Type.IDENTIFIER && opType != Token.Type.MATH_FUNC &&
+                opType != Token.Type.BOOL_FUNC && opType != Token.Type.SEQ_FUNC) {
+                throw new Exception("SYNTAX ERROR: Identifier or function expected in expression.");
+            }
+            int op = this.token(this.input.next());
+            this.push(ARGUMENTS, this.arena.addNode(parent, SyntaxArena.OPERATION, op));
+        }
+        else if (tok.toString().equals("[")) {
+            this.push(ITEMS, this.arena.addNode(parent, SyntaxArena.LIST, SyntaxArena.NONE));
+        }
+        else if (tok.getType() == Token.Type.IDENTIFIER) {
+            this.arena.addNode(parent, SyntaxArena.VARIABLE, this.token(tok));
+        }
+        else if (tok.getType() == Token.Type.NUM_LITERAL ||
+                 tok.getType() == Token.Type.BOOL_LITERAL ||
+                 tok.getType() == Token.Type.CHAR_LITERAL ||
+                 tok.getType() == Token.Type.STR_LITERAL) {
+            this.arena.addNode(parent, SyntaxArena.LITERAL, this.token(tok));
+        }
+        else {
+            throw new Exception("SYNTAX ERROR: Unknown value (" + tok + ").");
+        }
+    }
+}
@@ -3,37 +3,81 @@
  *   @author Dave Reed
  *   @version 1/20/25
  */
-public class Assignment extends Statement {
+public class Assignment extends Statement implements ExpressionHolder {
     private Token vbl;
     private Expression expr;
+    private int depth;
+    private int slot;
     
     /**
-     * Reads in a assignment statement from the specified TokenStream.
-     *   @param input the stream to be read from
+     * Constructs an assignment statement (e.g., from a SyntaxArena).
+     *   @param vbl the variable assigned
+     *   @param expr the expression whose value is assigned
      */
-    public Assignment(TokenStream input) throws Exception {
-        this.vbl = input.next();
-        if (this.vbl.getType() != Token.Type.IDENTIFIER) {
-	        throw new Exception("SYNTAX ERROR: Illegal lhs of assignment statement (" + this.vbl + ")");
-        } 
-        
-        if (!input.next().toString().equals("=")) {
-	        throw new Exception("SYNTAX ERROR: Malformed assignment statement (expecting '=')");
-        } 
+    public Assignment(Token vbl, Expression expr) {
+        this.vbl = vbl;
+        this.expr = expr.adoptedBy(this);
+    }
 
-        this.expr = new Expression(input);
+    /**
+     * Replaces the expression (when it specializes itself).
+     *   @param oldChild the expression being replaced
+     *   @param newChild its replacement
+     */
+    public void replaceChild(Expression oldChild, Expression newChild) {
+        if (this.expr == oldChild) {
+            this.expr = newChild;
+        }
     }
     
+    /**
+     * Resolves the current assignment statement.  The variable is assigned where
+     * it is already declared (an enclosing block or the global frame); otherwise,
+     * it is declared in the current block (or as a global, at the top level).
+     *   @param r the resolver for the enclosing scope
+     */
+    public void resolve(Resolver r) {
+        this.expr.resolve(r);
+        this.slot = r.lookupLocal(this.vbl);
+        if (this.slot >= 0) {
+            this.depth = Resolver.LOCAL;
+        } else if (r.atTopLevel() || r.isGlobal(this.vbl)) {
+            this.depth = Resolver.GLOBAL;
+            this.slot = r.lookupGlobal(this.vbl);
+        } else {
+            this.depth = Resolver.LOCAL;
+            this.slot = r.declareLocal(this.vbl);
+        }
+    }
+
+    /**
+     * Records an assignment to a global variable as a side effect.
+     *   @param check the analysis collecting the effects
+     */
+    public void checkPurity(PurityCheck check) {
+        if (this.depth != Resolver.LOCAL) {
+            check.markImpure();
+        }
+        this.expr.checkPurity(check);
+    }
+
     /**
      * Executes the current assignment statement.
      */
-    public void execute() throws Exception {
-        if (!Interpreter.MEMORY.isDeclared(this.vbl)) {
-        	Interpreter.MEMORY.declareVariable(this.vbl);           
-        } 
-        Interpreter.MEMORY.storeValue(this.vbl, this.expr.evaluate());
+    public DataValue execute(MemorySpace mem) throws Exception {
+        mem.storeValue(this.depth, this.slot, this.expr.evaluate(mem));
+        return null;
     }
     
+    public void compile(JitCompiler jit) {
+        jit.emitStore(this.depth, this.slot, this.expr);
+    }
+
+    public void compile(VmCompiler vm) {
+        this.expr.compile(vm);
+        vm.emit(this.depth == Resolver.LOCAL ? VmCompiler.STORE_LOCAL : VmCompiler.STORE_GLOBAL, this.slot);
+    }
+
     /**
      * Converts the current assignment statement into a String.
      *   @return the String representation of this statement
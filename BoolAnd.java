@@ -0,0 +1,38 @@
+/**
+ * Derived class that represents a conjunction expression, e.g., (and a b).
+ *   Note: every operand is evaluated (and type checked), there is no short-circuiting.
+ *   @version 10/18/26
+ */
+public class BoolAnd extends Operation {
+    public BoolAnd(Token op, Expression[] args) {
+        super(op, args);
+    }
+
+    /**
+     * Evaluates the current conjunction expression.
+     *   @return true if all operands are true; else, false
+     */
+    public DataValue evaluate(MemorySpace mem) throws Exception {
+        if (this.args.length < 2) {
+            throw new Exception("RUNTIME ERROR: Incorrect arity in and/or expression.");
+        }
+        boolean returnVal = this.evaluateBoolean(mem, 0);
+        for (int i = 1; i < this.args.length; i++) {
+            boolean boolVal = this.evaluateBoolean(mem, i);
+            returnVal = returnVal && boolVal;
+        }
+        return BooleanValue.of(returnVal);
+    }
+
+    public void compile(VmCompiler vm) {
+        if (this.args.length < 2) {
+            vm.emitFail("RUNTIME ERROR: Incorrect arity in and/or expression.");
+            return;
+        }
+        for (Expression e : this.args) {
+            e.compile(vm);
+            vm.emit(VmCompiler.CHECK_BOOLEAN);
+        }
+        vm.emit(VmCompiler.AND, this.args.length);
+    }
+}
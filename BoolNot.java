@@ -0,0 +1,33 @@
+/**
+ * Derived class that represents a negation expression, e.g., (not flag).
+ *   @version 10/18/26
+ */
+public class BoolNot extends Operation {
+    public BoolNot(Token op, Expression[] args) {
+        super(op, args);
+    }
+
+    /**
+     * Evaluates the current negation expression.
+     *   @return the negation of the operand
+     */
+    public DataValue evaluate(MemorySpace mem) throws Exception {
+        if (this.args.length != 1) {
+            throw new Exception("RUNTIME ERROR: Incorrect arity in not expression.");
+        }
+        DataValue val = this.args[0].evaluate(mem);
+        if (val.getType() != DataValue.Type.BOOLEAN) {
+            throw new Exception("RUNTIME ERROR: Boolean value expected in not expression.");
+        }
+        return BooleanValue.of(!(((BooleanValue) val).booleanValue()));
+    }
+
+    public void compile(VmCompiler vm) {
+        if (this.args.length != 1) {
+            vm.emitFail("RUNTIME ERROR: Incorrect arity in not expression.");
+            return;
+        }
+        this.args[0].compile(vm);
+        vm.emit(VmCompiler.NOT);
+    }
+}
@@ -1,26 +1,32 @@
 /**
- * Class that represents a Boolean value.
+ * Class that represents a Boolean value.  There are exactly two instances,
+ *   BooleanValue.TRUE and BooleanValue.FALSE.
  *   @author Dave Reed
  *   @version 1/20/25
  */
 public class BooleanValue implements DataValue {
-    protected boolean value;
+    public static final BooleanValue TRUE = new BooleanValue(true);
+    public static final BooleanValue FALSE = new BooleanValue(false);
+
+    protected final boolean value;
 
-    /**
-     * Constructs a default Boolean value (true).
-     */
-    public BooleanValue() {
-        this(true);
-    }
-    
     /**
      * Constructs a Boolean value.
      *   @param val the value being stored
      */
-    public BooleanValue(boolean val) {
+    private BooleanValue(boolean val) {
         this.value = val;
     }
 
+    /**
+     * Accesses the Boolean value for a JVM boolean.
+     *   @param val the value
+     *   @return BooleanValue.TRUE or BooleanValue.FALSE
+     */
+    public static BooleanValue of(boolean val) {
+        return (val ? BooleanValue.TRUE : BooleanValue.FALSE);
+    }
+
     /**
      * Accesses the stored Boolean value.
      *   @return the Boolean value (as an Object)
@@ -29,6 +35,14 @@ public class BooleanValue implements DataValue {
         return (Boolean) this.value;
     }
 
+    /**
+     * Accesses the stored Boolean value without boxing.
+     *   @return the Boolean value
+     */
+    public boolean booleanValue() {
+        return this.value;
+    }
+
     /**
      * Identifies the actual type of the value.
      *   @return Token.Type.BOOLEAN
@@ -45,12 +59,28 @@ public class BooleanValue implements DataValue {
         return "" + this.value;
     }
 
+    /**
+     * Writes the Boolean value to an output sink.
+     *   @param out the sink
+     */
+    public void writeTo(OutputSink out) {
+        out.write(this.value ? "true" : "false");
+    }
+
     /**
      * Comparison method for BooleanValues.
      *   @param other the value being compared with
      *   @return negative if <, 0 if ==, positive if >
      */
     public int compareTo(DataValue other) {
-        return ((Boolean)this.getValue()).compareTo((Boolean)other.getValue());
+        return Boolean.compare(this.value, ((BooleanValue) other).value);
+    }
+
+    public boolean equals(Object other) {
+        return other instanceof BooleanValue && this.value == ((BooleanValue) other).value;
+    }
+
+    public int hashCode() {
+        return Boolean.hashCode(this.value);
     }
 }
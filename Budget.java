@@ -0,0 +1,148 @@
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Class that limits the resources a run of a program may use: its fuel (the number
+ *   of loop iterations and function calls it may perform), the depth of its nested
+ *   function calls, and its wall-clock time.  The clock runs only while a statement
+ *   is executing (see Program), so time spent between statements, e.g., waiting
+ *   for interactive input, does not count.  Exceeding a limit throws a
+ *   BudgetExceeded, which ends the run (not just the current statement).
+ *
+ *   Loops tick the budget on each iteration (at the back edge) and functions on
+ *   entry.  A tick only decrements a counter: fuel is drawn from the run's supply in
+ *   slices of SLICE ticks, and the clock is read only when a new slice is drawn.
+ *   Worker threads (see SeqApply) draw from the same supply, so a parallel run may
+ *   overshoot its fuel by at most a slice per worker.
+ *   @version 10/18/26
+ */
+public class Budget {
+    public static final int UNLIMITED = -1;
+    private static final int SLICE = 1024;
+
+    private final long fuelLimit;
+    private final int depthLimit;
+    private final long timeLimit;
+    private final AtomicLong fuel;
+    private long timeUsed;
+    private long resumed;
+    private long deadline;
+    private boolean timing;
+    private int countdown;
+    private int depth;
+
+    /**
+     * Constructs a budget for a run (its clock starts with the first statement).
+     *   @param fuel the number of loop iterations and function calls allowed
+     *   @param depth the maximum depth of nested function calls
+     *   @param millis the wall-clock time allowed, in milliseconds
+     *          (a negative limit, e.g., Budget.UNLIMITED, is no limit)
+     */
+    public Budget(long fuel, int depth, long millis) {
+        this.fuelLimit = fuel;
+        this.depthLimit = depth;
+        this.timeLimit = millis;
+        this.fuel = new AtomicLong(fuel < 0 ? Long.MAX_VALUE : fuel);
+    }
+
+    private Budget(Budget parent) {
+        this.fuelLimit = parent.fuelLimit;
+        this.depthLimit = parent.depthLimit;
+        this.timeLimit = parent.timeLimit;
+        this.fuel = parent.fuel;
+        this.deadline = parent.deadline;
+        this.timing = parent.timing;
+        this.depth = parent.depth;
+    }
+
+    /**
+     * Constructs a budget from the system properties silly.limit.fuel,
+     * silly.limit.depth and silly.limit.millis.
+     *   @return the budget, or null if none of the properties is set
+     */
+    public static Budget fromProperties() {
+        long fuel = Long.getLong("silly.limit.fuel", UNLIMITED);
+        int depth = Integer.getInteger("silly.limit.depth", UNLIMITED);
+        long millis = Long.getLong("silly.limit.millis", UNLIMITED);
+        if (fuel < 0 && depth < 0 && millis < 0) {
+            return null;
+        }
+        return new Budget(fuel, depth, millis);
+    }
+
+    /**
+     * Constructs the budget of a worker thread: it shares this budget's fuel and
+     * clock, and its calls nest inside the current call.
+     *   @return the worker's budget
+     */
+    public Budget forWorker() {
+        return new Budget(this);
+    }
+
+    /**
+     * Starts the clock, when a statement begins executing.  The time already used
+     * by earlier statements is taken off the time allowed.
+     */
+    public void start() {
+        this.resumed = System.nanoTime();
+        this.deadline = this.resumed + Math.max(this.timeLimit, 0) * 1000000 - this.timeUsed;
+        this.timing = true;
+    }
+
+    /**
+     * Stops the clock, when a statement has finished executing.
+     */
+    public void stop() {
+        if (this.timing) {
+            this.timeUsed += System.nanoTime() - this.resumed;
+            this.timing = false;
+        }
+    }
+
+    /**
+     * Uses one unit of fuel (for a loop iteration or a function call).
+     */
+    public void tick() throws BudgetExceeded {
+        if (--this.countdown < 0) {
+            this.refuel();
+        }
+    }
+
+    /**
+     * Records the start of a function call (using one unit of fuel).
+     */
+    public void enter() throws BudgetExceeded {
+        this.tick();
+        if (this.depth == this.depthLimit) {
+            throw new BudgetExceeded("RUNTIME ERROR: Call depth limit of " + this.depthLimit + " exceeded.");
+        }
+        this.depth++;
+    }
+
+    /**
+     * Records the end of a function call.
+     */
+    public void exit() {
+        this.depth--;
+    }
+
+    /**
+     * Draws the next slice of fuel, checking the time limit first.
+     */
+    private void refuel() throws BudgetExceeded {
+        this.countdown = 0;
+        if (this.timing && this.timeLimit >= 0 && System.nanoTime() - this.deadline > 0) {
+            throw new BudgetExceeded("RUNTIME ERROR: Time limit of " + this.timeLimit + " ms exceeded.");
+        }
+        long left = this.fuel.get();
+        while (left > 0) {
+            long slice = Math.min(left, SLICE);
+            if (this.fuel.compareAndSet(left, left - slice)) {
+                this.countdown = (int) slice - 1;
+                return;
+            }
+            left = this.fuel.get();
+        }
+        throw new BudgetExceeded("RUNTIME ERROR: Fuel limit of " + this.fuelLimit +
+                                 " loop iterations and calls exceeded.");
+    }
+}
@@ -0,0 +1,12 @@
+/**
+ * Class for the error thrown when a run exceeds its Budget.  Unlike other runtime
+ *   errors, which only end the current top-level statement, it ends the run.
+ *   @version 10/18/26
+ */
+public class BudgetExceeded extends Exception {
+    private static final long serialVersionUID = 1L;
+
+    public BudgetExceeded(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,325 @@
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+
+/**
+ * Class that writes a minimal JVM class file: a final class with a constructor
+ *   that takes an Object[] (passed on to the superclass) and a single method
+ *   whose code is emitted one instruction at a time.
+ *
+ *   Class files are written as version 50 (Java 6), so no StackMapTable is needed;
+ *   the JVM verifies them by type inference.  The emitter tracks the operand stack
+ *   depth so it can report max_stack, which requires that every label is reached
+ *   with the same stack depth (true for the structured code the JIT produces).
+ *   @version 10/18/26
+ */
+public class BytecodeEmitter {
+    public static final int ACONST_NULL = 0x01, ICONST_0 = 0x03, LDC_W = 0x13, LDC2_W = 0x14, BIPUSH = 0x10, SIPUSH = 0x11;
+    public static final int ILOAD = 0x15, ALOAD = 0x19, ISTORE = 0x36, ASTORE = 0x3a, AALOAD = 0x32;
+    public static final int POP = 0x57, DUP = 0x59, DADD = 0x63, DMUL = 0x6b, DDIV = 0x6f, IINC = 0x84;
+    public static final int IFEQ = 0x99, IFNE = 0x9a, IF_ICMPGE = 0xa2, GOTO = 0xa7, IFNULL = 0xc6;
+    public static final int ARETURN = 0xb0, RETURN = 0xb1;
+    public static final int GETSTATIC = 0xb2, GETFIELD = 0xb4;
+    public static final int INVOKEVIRTUAL = 0xb6, INVOKESPECIAL = 0xb7, INVOKESTATIC = 0xb8, CHECKCAST = 0xc0;
+
+    /**
+     * Class that represents a branch target in the emitted code.
+     */
+    public static class Label {
+        private int position = -1;
+        private ArrayList<Integer> fixups = new ArrayList<Integer>();
+    }
+
+    private String className;
+    private String superName;
+    private ByteArrayOutputStream poolBytes;
+    private HashMap<String, Integer> poolIndex;
+    private int poolCount;
+    private ByteArrayOutputStream code;
+    private int stack;
+    private int maxStack;
+    private int maxLocals;
+    private ArrayList<int[]> patches;
+
+    /**
+     * Constructs an emitter for a class.
+     *   @param className the internal name of the class (e.g., "JitCode")
+     *   @param superName the internal name of its superclass
+     *   @param maxLocals the number of local variables reserved by the method's parameters
+     */
+    public BytecodeEmitter(String className, String superName, int maxLocals) {
+        this.className = className;
+        this.superName = superName;
+        this.poolBytes = new ByteArrayOutputStream();
+        this.poolIndex = new HashMap<String, Integer>();
+        this.poolCount = 1;
+        this.code = new ByteArrayOutputStream();
+        this.maxLocals = maxLocals;
+        this.patches = new ArrayList<int[]>();
+    }
+
+    private int constant(String key, int tag, int size, byte[] info) {
+        Integer index = this.poolIndex.get(key);
+        if (index == null) {
+            index = this.poolCount;
+            this.poolCount += size;
+            this.poolIndex.put(key, index);
+            this.poolBytes.write(tag);
+            this.poolBytes.write(info, 0, info.length);
+        }
+        return index;
+    }
+
+    private static byte[] u2u2(int a, int b) {
+        return new byte[] { (byte) (a >> 8), (byte) a, (byte) (b >> 8), (byte) b };
+    }
+
+    /**
+     * Adds a UTF8 entry to the constant pool.
+     *   @param str the string
+     *   @return its constant pool index
+     */
+    public int utf8(String str) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            new DataOutputStream(bytes).writeUTF(str);
+            return this.constant("U" + str, 1, 1, bytes.toByteArray());
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public int classRef(String internalName) {
+        int name = this.utf8(internalName);
+        return this.constant("C" + internalName, 7, 1, new byte[] { (byte) (name >> 8), (byte) name });
+    }
+
+    public int stringRef(String str) {
+        int utf = this.utf8(str);
+        return this.constant("S" + str, 8, 1, new byte[] { (byte) (utf >> 8), (byte) utf });
+    }
+
+    public int doubleRef(double d) {
+        long bits = Double.doubleToRawLongBits(d);
+        byte[] info = new byte[8];
+        for (int i = 0; i < 8; i++) {
+            info[i] = (byte) (bits >> (56 - 8 * i));
+        }
+        return this.constant("D" + bits, 6, 2, info);
+    }
+
+    private int memberRef(int tag, String owner, String name, String desc) {
+        int cls = this.classRef(owner);
+        int nat = this.constant("N" + name + ":" + desc, 12, 1, u2u2(this.utf8(name), this.utf8(desc)));
+        return this.constant(tag + owner + "." + name + ":" + desc, tag, 1, u2u2(cls, nat));
+    }
+
+    private void adjust(int delta) {
+        this.stack += delta;
+        this.maxStack = Math.max(this.maxStack, this.stack);
+    }
+
+    private void u2(int val) {
+        this.code.write(val >> 8);
+        this.code.write(val);
+    }
+
+    /**
+     * Emits an instruction without operands.
+     *   @param opcode the instruction
+     *   @param delta the change in operand stack depth (in slots)
+     */
+    public void op(int opcode, int delta) {
+        this.code.write(opcode);
+        this.adjust(delta);
+    }
+
+    public void pushInt(int val) {
+        if (val >= -1 && val <= 5) {
+            this.op(ICONST_0 + val, 1);
+        } else if (val >= Byte.MIN_VALUE && val <= Byte.MAX_VALUE) {
+            this.op(BIPUSH, 1);
+            this.code.write(val);
+        } else if (val >= Short.MIN_VALUE && val <= Short.MAX_VALUE) {
+            this.op(SIPUSH, 1);
+            this.u2(val);
+        } else {
+            throw new IllegalStateException("integer operand out of range");
+        }
+    }
+
+    public void pushDouble(double d) {
+        this.op(LDC2_W, 2);
+        this.u2(this.doubleRef(d));
+    }
+
+    public void pushString(String str) {
+        this.op(LDC_W, 1);
+        this.u2(this.stringRef(str));
+    }
+
+    public void local(int opcode, int index) {
+        this.op(opcode, (opcode == ILOAD || opcode == ALOAD) ? 1 : -1);
+        this.code.write(index);
+        this.maxLocals = Math.max(this.maxLocals, index + 1);
+    }
+
+    public void increment(int index, int amount) {
+        this.op(IINC, 0);
+        this.code.write(index);
+        this.code.write(amount);
+    }
+
+    public void checkcast(String internalName) {
+        this.op(CHECKCAST, 0);
+        this.u2(this.classRef(internalName));
+    }
+
+    public void getfield(String owner, String name, String desc) {
+        this.op(GETFIELD, 0);
+        this.u2(this.memberRef(9, owner, name, desc));
+    }
+
+    public void getstatic(String owner, String name, String desc) {
+        this.op(GETSTATIC, 1);
+        this.u2(this.memberRef(9, owner, name, desc));
+    }
+
+    /**
+     * Emits a method invocation (INVOKEVIRTUAL, INVOKESPECIAL or INVOKESTATIC).
+     *   @param opcode the invoke instruction
+     *   @param owner the internal name of the class declaring the method
+     *   @param name the method name
+     *   @param desc the method descriptor
+     */
+    public void invoke(int opcode, String owner, String name, String desc) {
+        int delta = BytecodeEmitter.slots(desc.substring(desc.indexOf(')') + 1)) - BytecodeEmitter.argSlots(desc);
+        this.op(opcode, opcode == INVOKESTATIC ? delta : delta - 1);
+        this.u2(this.memberRef(10, owner, name, desc));
+    }
+
+    private static int slots(String type) {
+        char c = type.charAt(0);
+        return (c == 'V' ? 0 : (c == 'D' || c == 'J') ? 2 : 1);
+    }
+
+    private static int argSlots(String desc) {
+        int count = 0;
+        int i = 1;
+        while (desc.charAt(i) != ')') {
+            char c = desc.charAt(i);
+            if (c == 'D' || c == 'J') {
+                count += 2;
+            } else {
+                count += 1;
+            }
+            while (desc.charAt(i) == '[') {
+                i++;
+            }
+            if (desc.charAt(i) == 'L') {
+                i = desc.indexOf(';', i);
+            }
+            i++;
+        }
+        return count;
+    }
+
+    public BytecodeEmitter.Label newLabel() {
+        return new BytecodeEmitter.Label();
+    }
+
+    /**
+     * Emits a branch instruction to a (possibly not yet placed) label.
+     *   @param opcode the branch instruction (e.g., IFEQ or GOTO)
+     *   @param target the label to branch to
+     *   @param delta the change in operand stack depth
+     */
+    public void jump(int opcode, BytecodeEmitter.Label target, int delta) {
+        int at = this.code.size();
+        this.op(opcode, delta);
+        if (target.position >= 0) {
+            this.u2(target.position - at);
+        } else {
+            target.fixups.add(at);
+            this.u2(0);
+        }
+    }
+
+    /**
+     * Places a label at the current position in the code.
+     *   @param label the label
+     */
+    public void place(BytecodeEmitter.Label label) {
+        label.position = this.code.size();
+        for (int at : label.fixups) {
+            this.patches.add(new int[] { at + 1, label.position - at });
+        }
+    }
+
+    /**
+     * Assembles the class file.
+     *   @param methodName the name of the emitted method
+     *   @param methodDesc the descriptor of the emitted method
+     *   @return the bytes of the class file
+     */
+    public byte[] toByteArray(String methodName, String methodDesc) throws IOException {
+        byte[] body = this.code.toByteArray();
+        if (body.length > Short.MAX_VALUE) {
+            throw new IOException("method too large");
+        }
+        for (int[] p : this.patches) {
+            if (p[1] < Short.MIN_VALUE || p[1] > Short.MAX_VALUE) {
+                throw new IOException("branch offset out of range");
+            }
+            body[p[0]] = (byte) (p[1] >> 8);
+            body[p[0] + 1] = (byte) p[1];
+        }
+
+        int thisClass = this.classRef(this.className);
+        int superClass = this.classRef(this.superName);
+        int codeAttr = this.utf8("Code");
+        int initName = this.utf8("<init>");
+        int initDesc = this.utf8("([Ljava/lang/Object;)V");
+        int superInit = this.memberRef(10, this.superName, "<init>", "([Ljava/lang/Object;)V");
+        int name = this.utf8(methodName);
+        int desc = this.utf8(methodDesc);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        DataOutputStream data = new DataOutputStream(out);
+        data.writeInt(0xCAFEBABE);
+        data.writeShort(0);
+        data.writeShort(50);
+        data.writeShort(this.poolCount);
+        data.write(this.poolBytes.toByteArray());
+        data.writeShort(0x0031);
+        data.writeShort(thisClass);
+        data.writeShort(superClass);
+        data.writeShort(0);
+        data.writeShort(0);
+        data.writeShort(2);
+
+        byte[] init = { (byte) 0x2a, (byte) 0x2b, (byte) INVOKESPECIAL, (byte) (superInit >> 8), (byte) superInit, (byte) RETURN };
+        BytecodeEmitter.writeMethod(data, initName, initDesc, codeAttr, 2, 2, init);
+        BytecodeEmitter.writeMethod(data, name, desc, codeAttr, this.maxStack, this.maxLocals, body);
+        data.writeShort(0);
+        return out.toByteArray();
+    }
+
+    private static void writeMethod(DataOutputStream data, int name, int desc, int codeAttr,
+                                    int maxStack, int maxLocals, byte[] body) throws IOException {
+        data.writeShort(0x0001);
+        data.writeShort(name);
+        data.writeShort(desc);
+        data.writeShort(1);
+        data.writeShort(codeAttr);
+        data.writeInt(12 + body.length);
+        data.writeShort(maxStack);
+        data.writeShort(maxLocals);
+        data.writeInt(body.length);
+        data.write(body);
+        data.writeShort(0);
+        data.writeShort(0);
+    }
+}
@@ -0,0 +1,244 @@
+/**
+ * Derived class that represents a call to a declared function, e.g., (fact 10).
+ *   The call caches the function it resolved to (with the token of the run it was
+ *   found in), so later calls in that run skip the function table lookup and arity
+ *   check.  Only the token is kept, so the cache does not keep a finished run's
+ *   memory space (its globals, memo caches and output) reachable.
+ *   A call named after one of the built-ins map, filter, reduce or count runs the
+ *   built-in instead, unless a function of that name has been declared.
+ *   @version 10/18/26
+ */
+public class Call extends Operation {
+    private Call.Target target;
+    private SeqApply builtin;
+
+    /**
+     * Class that pairs a run (its token) with the function this call resolved to in it.
+     */
+    private static class Target {
+        private final Object run;
+        private final FunctionDecl function;
+
+        private Target(Object run, FunctionDecl function) {
+            this.run = run;
+            this.function = function;
+        }
+    }
+
+    public Call(Token op, Expression[] args) {
+        this(op, args, null);
+    }
+
+    /**
+     * Constructs a call that falls back on a built-in.
+     *   @param op the function name
+     *   @param args the argument expressions (shared with the built-in)
+     *   @param builtin the built-in run while no function of that name is declared
+     *          (or null)
+     */
+    public Call(Token op, Expression[] args, SeqApply builtin) {
+        super(op, args);
+        this.builtin = builtin;
+    }
+
+    /**
+     * Determines whether the call runs its built-in (no function of its name is
+     * declared).
+     *   @param mem the memory space holding the function table
+     *   @return true if the built-in is run; else, false
+     */
+    private boolean isBuiltin(MemorySpace mem) {
+        return this.builtin != null && mem.lookupFunction(this.op.toString()) == null;
+    }
+
+    /**
+     * Identifies the function called, checking that it is declared and that it
+     * takes as many arguments as the call supplies.
+     *   @param mem the memory space holding the function table
+     *   @return the function
+     */
+    public FunctionDecl lookupFunction(MemorySpace mem) throws Exception {
+        Call.Target cached = this.target;
+        if (cached != null && cached.run == mem.getRunToken()) {
+            return cached.function;
+        }
+        FunctionDecl function = mem.lookupFunction(this.op.toString());
+        if (function == null) {
+            throw new Exception("RUNTIME ERROR: Function '" + this.op + "' not declared.");
+        }
+        if (this.args.length != function.getParameters().size()) {
+            throw new Exception("RUNTIME ERROR: Function '" + function.getName() +
+                                "' expects " + function.getParameters().size() + " arguments.");
+        }
+        if (!mem.isWorker()) {
+            this.target = new Call.Target(mem.getRunToken(), function);
+        }
+        return function;
+    }
+
+    /**
+     * Evaluates the current function call.  The arguments are evaluated in the
+     * caller's frame and stored in the first slots of a (reused) frame for the function.
+     *   @return the value returned by the function (true if it does not return a value)
+     */
+    public DataValue evaluate(MemorySpace mem) throws Exception {
+        if (this.isBuiltin(mem)) {
+            return this.builtin.evaluate(mem);
+        }
+        FunctionDecl function = this.lookupFunction(mem);
+        return Call.invoke(function, this.evaluateArguments(mem, function), mem);
+    }
+
+    /**
+     * Runs a function whose arguments are stored in the first slots of a frame
+     * (acquired from the memory space).  If the function ends with a tail call, the
+     * called function runs next in this same loop, so tail recursion does not grow
+     * the Java stack.  Each call (tail calls included) is charged to the run's
+     * budget, if it has one.  For a memoized function, a result cached for the same
+     * arguments is returned without running it.
+     *   @param function the function
+     *   @param frame the frame for the function (released when it returns)
+     *   @return the value returned by the function (true if it does not return a value)
+     */
+    public static DataValue invoke(FunctionDecl function, DataValue[] frame, MemorySpace mem) throws Exception {
+        MemoCache cache = function.getMemoCache(mem);
+        MemoCache.Key key = null;
+        if (cache != null) {
+            key = cache.keyFor(frame, function.getParameters().size());
+            DataValue cached = cache.lookup(key);
+            if (cached != null) {
+                mem.releaseFrame(frame, function.getFrameSize());
+                return cached;
+            }
+        }
+
+        Budget budget = mem.getBudget();
+        if (budget != null) {
+            budget.enter();
+        }
+        Profiler profiler = mem.getProfiler();
+        if (profiler != null) {
+            profiler.enter(function);
+        }
+        DataValue[] saved = mem.enterFrame(frame);
+        try {
+            DataValue returned = Call.run(function, mem);
+            while (returned instanceof TailCall) {
+                TailCall next = (TailCall) returned;
+                mem.releaseFrame(frame, function.getFrameSize());
+                function = next.getFunction();
+                frame = next.getFrame();
+                mem.enterFrame(frame);
+                if (budget != null) {
+                    budget.tick();
+                }
+                if (profiler != null) {
+                    profiler.exit();
+                    profiler.enter(function);
+                }
+                returned = Call.run(function, mem);
+            }
+            DataValue result = (returned != null ? returned : BooleanValue.TRUE);
+            if (cache != null) {
+                cache.store(key, result);
+            }
+            return result;
+        } finally {
+            if (budget != null) {
+                budget.exit();
+            }
+            if (profiler != null) {
+                profiler.exit();
+            }
+            mem.exitFrame(saved);
+            mem.releaseFrame(frame, function.getFrameSize());
+        }
+    }
+
+    /**
+     * Prepares the current call to run in place of the function executing it (for
+     * return (f ...)): the function is looked up and the arguments are evaluated,
+     * but the function is run by the Call that is running the current function.
+     * A memoized function is called normally instead (its result must be cached).
+     *   @return the TailCall signal, set up for this call (or the function's result)
+     */
+    public DataValue prepareTailCall(MemorySpace mem) throws Exception {
+        if (this.isBuiltin(mem)) {
+            return this.builtin.evaluate(mem);
+        }
+        FunctionDecl function = this.lookupFunction(mem);
+        if (function.getMemoCache(mem) != null) {
+            return this.evaluate(mem);
+        }
+        return mem.getTailCall().set(function, this.evaluateArguments(mem, function));
+    }
+
+    /**
+     * Records the call (and the effects of its arguments) for the purity analysis.
+     *   @param check the analysis collecting the effects
+     */
+    public void checkPurity(PurityCheck check) {
+        if (this.builtin != null && !check.isDeclared(this.op.toString())) {
+            this.builtin.checkPurity(check);
+            return;
+        }
+        super.checkPurity(check);
+        check.addCallee(this.op.toString());
+    }
+
+    private DataValue[] evaluateArguments(MemorySpace mem, FunctionDecl function) throws Exception {
+        DataValue[] frame = mem.acquireFrame(function.getFrameSize());
+        for (int i = 0; i < this.args.length; i++) {
+            frame[i] = this.args[i].evaluate(mem);
+        }
+        return frame;
+    }
+
+    /**
+     * Runs a function body in the current frame (interpreted, while profiling).
+     *   @return the value returned (null if none, or the TailCall signal)
+     */
+    private static DataValue run(FunctionDecl function, MemorySpace mem) throws Exception {
+        Profiler profiler = mem.getProfiler();
+        CompiledCode code = (profiler == null ? function.getCompiledBody(mem) : null);
+        if (code != null) {
+            return code.execute(mem);
+        }
+        for (Statement stmt : function.getBody()) {
+            DataValue returned = (profiler == null ? stmt.execute(mem) : profiler.execute(stmt, mem));
+            if (returned != null) {
+                return returned;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Emits VirtualMachine instructions for the call: the function and arity are
+     * checked before the arguments are computed (as in evaluate).
+     *   @param vm the compiler emitting the instructions
+     */
+    public void compile(VmCompiler vm) {
+        this.compileCall(vm, VmCompiler.CALL);
+    }
+
+    /**
+     * Emits VirtualMachine instructions for the call, ending with the specified
+     * call instruction.  A call that may run a built-in calls evaluate instead
+     * (which decides when it runs).
+     *   @param vm the compiler emitting the instructions
+     *   @param opcode VmCompiler.CALL, or VmCompiler.TAIL_CALL for a call in tail position
+     */
+    public void compileCall(VmCompiler vm, int opcode) {
+        if (this.builtin != null) {
+            vm.emitEvaluate(this);
+            return;
+        }
+        int call = vm.constant(this);
+        vm.emit(VmCompiler.CHECK_CALL, call);
+        for (Expression e : this.args) {
+            e.compile(vm);
+        }
+        vm.emit(opcode, call, this.args.length);
+    }
+}
@@ -0,0 +1,48 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Class for an output sink that writes its output to a file through a FileChannel,
+ *   one buffer at a time.
+ *   @version 10/18/26
+ */
+public class ChannelSink extends OutputSink implements AutoCloseable {
+    private FileChannel channel;
+
+    /**
+     * Constructs a sink writing to a file (replacing its contents).
+     *   @param file the file
+     */
+    public ChannelSink(Path file) throws IOException {
+        this(FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                              StandardOpenOption.TRUNCATE_EXISTING), 64 * 1024);
+    }
+
+    /**
+     * Constructs a sink writing to a channel.
+     *   @param channel the channel
+     *   @param size the size of the buffer (in bytes)
+     */
+    public ChannelSink(FileChannel channel, int size) {
+        super(size, OutputSink.Flush.FULL);
+        this.channel = channel;
+    }
+
+    protected void drain(byte[] bytes, int length) throws IOException {
+        ByteBuffer buf = ByteBuffer.wrap(bytes, 0, length);
+        while (buf.hasRemaining()) {
+            this.channel.write(buf);
+        }
+    }
+
+    /**
+     * Writes any buffered output and closes the channel.
+     */
+    public void close() throws IOException {
+        this.flush();
+        this.channel.close();
+    }
+}
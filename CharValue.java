@@ -1,10 +1,24 @@
 public class CharValue implements DataValue {
+    private static final CharValue[] CACHE = new CharValue[256];
+    static {
+        for (int i = 0; i < CACHE.length; i++) {
+            CACHE[i] = new CharValue((char) i);
+        }
+    }
+
     private final char character;
 
-    public CharValue(char character) {
+    private CharValue(char character) {
         this.character = character;
     }
 
+    public static CharValue of(char character) {
+        if (character < CACHE.length) {
+            return CACHE[character];
+        }
+        return new CharValue(character);
+    }
+
     @Override
     public Object getValue() {
         return character;
@@ -20,6 +34,11 @@ public class CharValue implements DataValue {
         return Character.toString(character);
     }
 
+    @Override
+    public void writeTo(OutputSink out) {
+        out.write(character);
+    }
+
     @Override
     public int compareTo(DataValue other) {
         if (other.getType() != DataValue.Type.CHAR) {
@@ -27,4 +46,14 @@ public class CharValue implements DataValue {
         }
         return Character.compare(this.character, ((CharValue) other).character);
     }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof CharValue && this.character == ((CharValue) other).character;
+    }
+
+    @Override
+    public int hashCode() {
+        return Character.hashCode(character);
+    }
 }
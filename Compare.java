@@ -0,0 +1,171 @@
+/**
+ * Derived class that represents a comparison expression, e.g., (< a b c).
+ *   The comparison operator is resolved to a Compare.Op when the expression is
+ *   parsed, so evaluation never has to examine the operator's text.
+ *   @version 10/18/26
+ */
+public class Compare extends Operation {
+    public static enum Op { EQ, NE, LT, GT, LE, GE }
+    private static final Compare.Op[] OPS = Compare.Op.values();
+
+    private Compare.Op cmp;
+
+    public Compare(Token op, Expression[] args) {
+        super(op, args);
+        this.cmp = Compare.toOp(op.toString());
+    }
+
+    /**
+     * Identifies the comparison operator for a token string.
+     *   @param name the operator (e.g., "<=")
+     *   @return the corresponding Compare.Op
+     */
+    private static Compare.Op toOp(String name) {
+        switch (name) {
+            case "==": return Compare.Op.EQ;
+            case "!=": return Compare.Op.NE;
+            case "<":  return Compare.Op.LT;
+            case ">":  return Compare.Op.GT;
+            case "<=": return Compare.Op.LE;
+            default:   return Compare.Op.GE;
+        }
+    }
+
+    /**
+     * Identifies a comparison operator by its ordinal (as stored in compiled code).
+     *   @param ordinal the ordinal of the operator
+     *   @return the corresponding Compare.Op
+     */
+    public static Compare.Op fromOrdinal(int ordinal) {
+        return Compare.OPS[ordinal];
+    }
+
+    /**
+     * Determines whether a comparison result satisfies an operator.
+     *   @param cmp the comparison operator
+     *   @param result the result of compareTo
+     *   @return true if the operator holds
+     */
+    public static boolean holds(Compare.Op cmp, int result) {
+        switch (cmp) {
+            case EQ: return result == 0;
+            case NE: return result != 0;
+            case LT: return result < 0;
+            case GT: return result > 0;
+            case LE: return result <= 0;
+            default: return result >= 0;
+        }
+    }
+
+    /**
+     * Determines whether an operator holds between two values of the same type.
+     * Equality is tested with equals, which rejects most unequal lists and strings
+     * by their lengths or hash codes; the other operators use compareTo.
+     *   @param cmp the comparison operator
+     *   @param val1 the first value
+     *   @param val2 the second value
+     *   @return true if the operator holds
+     */
+    public static boolean test(Compare.Op cmp, DataValue val1, DataValue val2) {
+        switch (cmp) {
+            case EQ: return val1.equals(val2);
+            case NE: return !val1.equals(val2);
+            default: return Compare.holds(cmp, val1.compareTo(val2));
+        }
+    }
+
+    /**
+     * Emits JVM bytecode for a two-operand comparison (others use the fallback).
+     * Operands that are known to be numbers are compared unboxed.
+     *   @param jit the compiler emitting the code
+     *   @param error not used (a comparison always produces a Boolean)
+     */
+    public void compileCondition(JitCompiler jit, String error) {
+        if (this.args.length != 2) {
+            super.compileCondition(jit, error);
+        } else if (this.args[0].isNumeric() && this.args[1].isNumeric()) {
+            this.args[0].compileNumber(jit);
+            this.args[1].compileNumber(jit);
+            jit.emitCompareNumbers(this.cmp);
+        } else {
+            this.args[0].compile(jit);
+            this.args[1].compile(jit);
+            jit.emitCompare(this.cmp);
+        }
+    }
+
+    public void compile(JitCompiler jit) {
+        if (this.args.length != 2) {
+            super.compile(jit);
+        } else {
+            this.compileCondition(jit, null);
+            jit.emitBoxBoolean();
+        }
+    }
+
+    /**
+     * Emits VirtualMachine instructions for the comparison; each intermediate pair
+     * that fails jumps to the end with false as the result.
+     *   @param vm the compiler emitting the instructions
+     */
+    public void compile(VmCompiler vm) {
+        if (this.args.length < 2) {
+            vm.emitFail("RUNTIME ERROR: Incorrect arity in comparison expression.");
+            return;
+        }
+        int end = vm.newLabel();
+        this.args[0].compile(vm);
+        for (int i = 1; i < this.args.length; i++) {
+            this.args[i].compile(vm);
+            if (i < this.args.length - 1) {
+                vm.emitJump(VmCompiler.COMPARE_CHAIN, end, this.cmp.ordinal());
+            } else {
+                vm.emit(VmCompiler.COMPARE, this.cmp.ordinal());
+            }
+        }
+        vm.placeLabel(end);
+    }
+
+    /**
+     * Evaluates the current comparison expression (stopping at the first pair that fails).
+     *   @return true if the operator holds between every adjacent pair of operands
+     */
+    public DataValue evaluate(MemorySpace mem) throws Exception {
+        if (this.args.length < 2) {
+            throw new Exception("RUNTIME ERROR: Incorrect arity in comparison expression.");
+        }
+        DataValue first = this.args[0].evaluate(mem);
+        DataValue result = this.compareFrom(mem, first);
+        if (first.getType() == DataValue.Type.NUMBER) {
+            this.specialize(mem, new CompareNumber(this.op, this.args));
+        }
+        return result;
+    }
+
+    /**
+     * Completes the comparison once the first operand has been evaluated.
+     *   @param val1 the value of the first operand
+     *   @return true if the operator holds between every adjacent pair of operands
+     */
+    protected DataValue compareFrom(MemorySpace mem, DataValue val1) throws Exception {
+        for (int i = 1; i < this.args.length; i++) {
+            DataValue val2 = this.args[i].evaluate(mem);
+            if (val1.getType() != val2.getType()) {
+                throw new Exception("RUNTIME ERROR: Type mismatch in comparison.");
+            }
+            if (!Compare.test(this.cmp, val1, val2)) {
+                return BooleanValue.FALSE;
+            }
+            val1 = val2;
+        }
+        return BooleanValue.TRUE;
+    }
+
+    /**
+     * Accesses the comparison operator.
+     *   @return the operator
+     */
+    protected Compare.Op getOp() {
+        return this.cmp;
+    }
+}
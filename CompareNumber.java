@@ -0,0 +1,37 @@
+/**
+ * Derived class that represents a comparison expression specialized for number
+ *   operands, which are compared without boxing.  It replaces the generic Compare
+ *   after an evaluation that compared numbers, and reverts to it if an operand
+ *   ever is not a number.
+ *   @version 10/18/26
+ */
+public class CompareNumber extends Compare {
+    public CompareNumber(Token op, Expression[] args) {
+        super(op, args);
+    }
+
+    /**
+     * Evaluates the current comparison expression, assuming number operands.
+     *   @return true if the operator holds between every adjacent pair of operands
+     */
+    public DataValue evaluate(MemorySpace mem) throws Exception {
+        DataValue first = this.args[0].evaluate(mem);
+        if (!(first instanceof NumberValue)) {
+            return ((Compare) this.deoptimize(mem)).compareFrom(mem, first);
+        }
+        double num1 = ((NumberValue) first).doubleValue();
+        for (int i = 1; i < this.args.length; i++) {
+            DataValue val2 = this.args[i].evaluate(mem);
+            if (!(val2 instanceof NumberValue)) {
+                this.deoptimize(mem);
+                throw new Exception("RUNTIME ERROR: Type mismatch in comparison.");
+            }
+            double num2 = ((NumberValue) val2).doubleValue();
+            if (!Compare.holds(this.getOp(), Double.compare(num1, num2))) {
+                return BooleanValue.FALSE;
+            }
+            num1 = num2;
+        }
+        return BooleanValue.TRUE;
+    }
+}
@@ -0,0 +1,26 @@
+/**
+ * Abstract class for code produced by the JIT compiler.  A generated subclass
+ *   executes a sequence of statements (a function body or a while loop) directly
+ *   as JVM bytecode; the constants array holds the values and AST nodes the
+ *   generated code refers to.
+ *   @version 10/18/26
+ */
+public abstract class CompiledCode {
+    protected final Object[] constants;
+
+    /**
+     * Constructs compiled code.
+     *   @param constants the values and nodes referenced by the generated code
+     */
+    protected CompiledCode(Object[] constants) {
+        this.constants = constants;
+    }
+
+    /**
+     * Executes the compiled statements.
+     *   @param mem the memory space (with the frame already set up)
+     *   @return the value of the return statement that ended the execution, or
+     *           null if the statements completed normally
+     */
+    public abstract DataValue execute(MemorySpace mem) throws Exception;
+}
@@ -8,40 +8,85 @@ import java.util.List;
  */
 public class Compound extends Statement {
     private ArrayList<Statement> stmts;
+    private int firstSlot;
+    private int lastSlot;
 
     /**
-     * Reads in a compound statement from the specified stream
-     *   @param input the stream to be read from
+     * Constructs a compound statement (e.g., from a SyntaxArena).
+     *   @param stmts the statements in the block
      */
-    public Compound(TokenStream input) throws Exception {
-        if (!input.next().toString().equals("{")) {
-            throw new Exception("SYNTAX ERROR: Malformed compound statement");
+    public Compound(List<Statement> stmts) {
+        this.stmts = new ArrayList<Statement>(stmts);
+    }
+
+    /**
+     * Resolves the current compound statement, which is a nested block scope.
+     *   @param r the resolver for the enclosing scope
+     */
+    public void resolve(Resolver r) {
+        this.firstSlot = r.beginBlock();
+        for (Statement stmt : this.stmts) {
+            stmt.resolve(r);
         }
+        this.lastSlot = r.endBlock(this.firstSlot);
+    }
 
-        this.stmts = new ArrayList<Statement>();
-        while (!input.lookAhead().toString().equals("}")) {
-            this.stmts.add(Statement.getStatement(input));
+    @Override
+    public void declareFunctions(MemorySpace mem) throws Exception {
+        for (Statement stmt : this.stmts) {
+            stmt.declareFunctions(mem);
         }
-        input.next();
     }
 
     @Override
-    public void execute() throws Exception {
-        Interpreter.MEMORY.beginNestedScope();
-    
+    public void checkPurity(PurityCheck check) {
+        for (Statement stmt : this.stmts) {
+            stmt.checkPurity(check);
+        }
+    }
+
+    /**
+     * Executes the current compound statement; the variables declared in the
+     * block are cleared when it ends (however it ends: normally, by a return
+     * or by an error).
+     */
+    @Override
+    public DataValue execute(MemorySpace mem) throws Exception {
+        Profiler profiler = mem.getProfiler();
         try {
             for (Statement stmt : this.stmts) {
-                stmt.execute();
+                DataValue returned = (profiler == null ? stmt.execute(mem) : profiler.execute(stmt, mem));
+                if (returned != null) {
+                    return returned;
+                }
             }
-            Interpreter.MEMORY.endCurrentScope(); 
-        } catch (ReturnException e) {
-            throw e;
+            return null;
+        } finally {
+            mem.clearFrame(this.firstSlot, this.lastSlot);
         }
     }
 
-    
 
-    
+    @Override
+    public void compile(JitCompiler jit) {
+        for (Statement stmt : this.stmts) {
+            stmt.compile(jit);
+        }
+        if (this.lastSlot > this.firstSlot) {
+            jit.emitClearFrame(this.firstSlot, this.lastSlot);
+        }
+    }
+
+    @Override
+    public void compile(VmCompiler vm) {
+        for (Statement stmt : this.stmts) {
+            stmt.compile(vm);
+        }
+        if (this.lastSlot > this.firstSlot) {
+            vm.emit(VmCompiler.CLEAR, this.firstSlot, this.lastSlot);
+        }
+    }
+
     /**
      * Converts the current compound statement into a String.
      *   @return the String representation of this statement
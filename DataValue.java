@@ -9,4 +9,12 @@ public interface DataValue extends Comparable<DataValue> {
     public Object getValue();
     public DataValue.Type getType();
     public String toString(); 
+
+    /**
+     * Writes the value (as toString would show it) to an output sink.
+     *   @param out the sink
+     */
+    public default void writeTo(OutputSink out) {
+        out.write(this.toString());
+    }
 }
\ No newline at end of file
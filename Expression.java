@@ -1,302 +1,300 @@
-import java.util.ArrayList;
+import java.util.ArrayDeque;
 
 /**
-* Class that represents an expression in the SILLY language.
-*   @author Dave Reed
-*   @version 1/20/25
-*/
-public class Expression {
-    private Token tok;                       // used for simple expressions (no function)
-    private ArrayList<Expression> exprs;     // used to store function inputs
+ * Abstract class for representing an expression in the SILLY language.
+ *   Each kind of expression (literal, variable, built-in function, function call)
+ *   is a derived class with its own evaluate method, selected once by the parser.
+ *   @author Dave Reed
+ *   @version 1/20/25
+ */
+public abstract class Expression {
+    private static final Expression[] NO_OPERANDS = new Expression[0];
+
+    private ExpressionHolder holder;
+
+    public abstract DataValue evaluate(MemorySpace mem) throws Exception;
+    public abstract String toString();
 
     /**
-     * Creates an expression from the specified TokenStream.
-     *   @param input the TokenStream from which the program is read
+     * Accesses the operands of the expression (none, by default).
+     *   @return the operand expressions
      */
-    public Expression(TokenStream input) throws Exception {
-        this.tok = input.next();
-        if (this.tok.toString().equals("(")) {
-            if (input.lookAhead().getType() != Token.Type.IDENTIFIER &&
-                input.lookAhead().getType() != Token.Type.MATH_FUNC &&
-                input.lookAhead().getType() != Token.Type.BOOL_FUNC &&
-                input.lookAhead().getType() != Token.Type.SEQ_FUNC) {
-                throw new Exception("SYNTAX ERROR: Identifier or function expected in expression.");
-            }
-            this.tok = input.next();
-            this.exprs = new ArrayList<Expression>();
-            while (!input.lookAhead().toString().equals(")")) {
-                this.exprs.add(new Expression(input));
-            }
-            input.next();
-        }
-        else if (this.tok.toString().equals("[")) {
-            this.exprs = new ArrayList<Expression>();
-            while (!input.lookAhead().toString().equals("]")) {
-                this.exprs.add(new Expression(input));
+    protected Expression[] getOperands() {
+        return Expression.NO_OPERANDS;
+    }
+
+    /**
+     * Resolves the variables used in the expression and its operands.  The tree is
+     * walked with an explicit stack, so its depth is not limited by the Java stack.
+     *   @param r the resolver for the enclosing scope
+     */
+    public final void resolve(Resolver r) {
+        ArrayDeque<Expression> pending = new ArrayDeque<Expression>();
+        pending.push(this);
+        while (!pending.isEmpty()) {
+            Expression[] operands = pending.pop().resolveNode(r);
+            for (int i = operands.length - 1; i >= 0; i--) {
+                pending.push(operands[i]);
             }
-            input.next();
-        }
-        else if (this.tok.getType() != Token.Type.IDENTIFIER &&
-                 this.tok.getType() != Token.Type.NUM_LITERAL &&
-                 this.tok.getType() != Token.Type.BOOL_LITERAL &&
-                 this.tok.getType() != Token.Type.CHAR_LITERAL &&
-                 this.tok.getType() != Token.Type.STR_LITERAL &&
-                 !this.tok.toString().equals("repeat")) {
-            throw new Exception("SYNTAX ERROR: Unknown value (" + this.tok + ").");
         }
     }
 
     /**
-     * Evaluates the current expression.
-     *   @return the value represented by the expression
+     * Resolves the variables used by this node itself (by default, there are none).
+     *   @param r the resolver for the enclosing scope
+     *   @return the operands still to be resolved
      */
-    public DataValue evaluate() throws Exception {
-        if (this.exprs == null) {
-            if (this.tok.getType() == Token.Type.IDENTIFIER) {
-                if (!Interpreter.MEMORY.isDeclared(this.tok)) {
-                    throw new Exception("RUNTIME ERROR: variable " + this.tok + " is undeclared.");
-                }
-                return Interpreter.MEMORY.lookupValue(this.tok);
-            } else if (this.tok.getType() == Token.Type.NUM_LITERAL) {
-                return new NumberValue(Double.parseDouble(this.tok.toString()));
-            } else if (this.tok.getType() == Token.Type.BOOL_LITERAL) {
-                return new BooleanValue(Boolean.valueOf(this.tok.toString()));
-            } else if (this.tok.getType() == Token.Type.CHAR_LITERAL) {
-                char charValue = this.tok.toString().charAt(1);
-                return new CharValue(charValue);
-            } else if (this.tok.getType() == Token.Type.STR_LITERAL) {
-                return new StringValue(this.tok.toString().substring(1, this.tok.toString().length() - 1));
+    protected Expression[] resolveNode(Resolver r) {
+        return this.getOperands();
+    }
+
+    /**
+     * Accesses the text that starts an expression with operands, e.g., "(+ " or "[".
+     *   @return the opening text, or null if the expression prints as a whole
+     */
+    protected String getOpenText() {
+        return null;
+    }
+
+    /**
+     * Accesses the text that ends an expression with operands, e.g., ")" or "]".
+     *   @return the closing text
+     */
+    protected String getCloseText() {
+        return "";
+    }
+
+    /**
+     * Converts an expression with operands into a String: its opening text, its
+     * operands (separated by spaces) and its closing text.  Like resolve, it walks the tree with an explicit stack.
+     *   @return the String representation of this expression
+     */
+    protected String describe() {
+        StringBuilder text = new StringBuilder();
+        ArrayDeque<Object> pending = new ArrayDeque<Object>();
+        pending.push(this);
+        while (!pending.isEmpty()) {
+            Object next = pending.pop();
+            if (next instanceof String) {
+                text.append((String) next);
+                continue;
             }
-        }
-        else if (this.tok.toString().equals("[")) {
-            ArrayList<DataValue> vals = new ArrayList<DataValue>();
-            for (Expression e : this.exprs) {
-                vals.add(e.evaluate());
+            Expression expr = (Expression) next;
+            String open = expr.getOpenText();
+            if (open == null) {
+                text.append(expr.toString());
+                continue;
             }
-            return new ListValue(vals);
-        }
-        else {
-            if (this.tok.getType() == Token.Type.MATH_FUNC) {
-                if (this.exprs.size() < 2) {
-                    throw new Exception("RUNTIME ERROR: Incorrect arity in math expression.");
-                }
-                DataValue first = this.exprs.get(0).evaluate();
-                if (first.getType() != DataValue.Type.NUMBER) {
-                    throw new Exception("RUNTIME ERROR: Number value expected.");
+            text.append(open);
+            pending.push(expr.getCloseText());
+            Expression[] operands = expr.getOperands();
+            for (int i = operands.length - 1; i >= 0; i--) {
+                pending.push(operands[i]);
+                if (i > 0) {
+                    pending.push(" ");
                 }
-                Double returnVal = (Double) first.getValue();
-                for (int i = 1; i < this.exprs.size(); i++) {
-                    DataValue val = this.exprs.get(i).evaluate();
-                    if (val.getType() != DataValue.Type.NUMBER) {
-                        throw new Exception("RUNTIME ERROR: Number value expected.");
-                    }
-                    if (this.tok.toString().equals("+")) {
-                        returnVal += (Double) val.getValue();
-                    } else if (this.tok.toString().equals("*")) {
-                        returnVal *= (Double) val.getValue();
-                    } else if (this.tok.toString().equals("/")) {
-                        returnVal /= (Double) val.getValue();
-                    }
-                }
-                return new NumberValue(returnVal);
             }
-            else if (this.tok.getType() == Token.Type.BOOL_FUNC) {
-                if (this.tok.toString().equals("not")) {
-					if (this.exprs.size() != 1) {
-						throw new Exception("RUNTIME ERROR: Incorrect arity in not expression.");
-					}
-					DataValue val = this.exprs.get(0).evaluate();
-					if (val.getType() != DataValue.Type.BOOLEAN) {
-						throw new Exception("RUNTIME ERROR: Boolean value expected in not expression.");
-					}
-					Boolean boolVal = (Boolean) val.getValue();
-					return new BooleanValue(!boolVal);
-				} else if (this.tok.toString().equals("and") || this.tok.toString().equals("or")) {
-					if (this.exprs.size() < 2) {
-						throw new Exception("RUNTIME ERROR: Incorrect arity in and/or expression.");
-					}
-					DataValue first = this.exprs.get(0).evaluate();
-					if (first.getType() != DataValue.Type.BOOLEAN) {
-						throw new Exception("RUNTIME ERROR: Boolean value expected.");
-					}
-					Boolean returnVal = (Boolean) first.getValue();
- 
- 
-					for (int i = 1; i < this.exprs.size(); i++) {
-						DataValue val = this.exprs.get(i).evaluate();
-						if (val.getType() != DataValue.Type.BOOLEAN) {
-							throw new Exception("RUNTIME ERROR: Boolean value expected.");
-						}
-						Boolean boolVal = (Boolean) val.getValue();
-						if (this.tok.toString().equals("and")) {
-							returnVal = returnVal && boolVal;
-						} else {
-							returnVal = returnVal || boolVal;
-						}
-					}
-					return new BooleanValue(returnVal);
-				} else {
-					if (this.exprs.size() < 2) {
-						throw new Exception("RUNTIME ERROR: Incorrect arity in comparison expression.");
-					}
-					for (int i = 0; i < this.exprs.size() - 1; i++) {
-						DataValue val1 = this.exprs.get(i).evaluate();
-						DataValue val2 = this.exprs.get(i + 1).evaluate();
-						if (val1.getType() != val2.getType()) {
-							throw new Exception("RUNTIME ERROR: Type mismatch in comparison.");
-						}
-						if ((this.tok.toString().equals("==") && val1.compareTo(val2) != 0) ||
-								(this.tok.toString().equals("!=") && val1.compareTo(val2) == 0) ||
-								(this.tok.toString().equals("<") && val1.compareTo(val2) >= 0) ||
-								(this.tok.toString().equals(">") && val1.compareTo(val2) <= 0) ||
-								(this.tok.toString().equals("<=") && val1.compareTo(val2) > 0) ||
-								(this.tok.toString().equals(">=") && val1.compareTo(val2) < 0)) {
-							return new BooleanValue(false);
-						}
-					}
-					return new BooleanValue(true);
-				}
-			}
- 
-            else if (this.tok.getType() == Token.Type.SEQ_FUNC) {
-                if (this.exprs.size() == 0) {
-					throw new Exception("RUNTIME ERROR: Incorrect arity in sequence expression.");
-				}              
-		   
-				DataValue first = this.exprs.get(0).evaluate();
-		   
-				if (this.tok.toString().equals("str")) {
-					if (this.exprs.size() != 1) {
-						throw new Exception("RUNTIME ERROR: Incorrect arity in str expression.");
-					}
-					return new StringValue(first.toString());
-				}
-		   
-				if (first.getType() != DataValue.Type.LIST && first.getType() != DataValue.Type.STRING) {
-					throw new Exception("RUNTIME ERROR: List or string value expected.");
-				}      
-		   
-				ArrayList<DataValue> list = (ArrayList<DataValue>)first.getValue();
-		   
-				if (this.tok.toString().equals("len")) {
-					if (this.exprs.size() != 1) {
-						throw new Exception("RUNTIME ERROR: Incorrect arity in len expression.");
-					}
-					return new NumberValue(list.size());
-				}
-				else if (this.tok.toString().equals("get")) {
-					if (this.exprs.size() != 2) {
-						throw new Exception("RUNTIME ERROR: Incorrect arity in get expression.");
-					}
-					DataValue second = this.exprs.get(1).evaluate();
-					if (second.getType() != DataValue.Type.NUMBER) {
-						throw new Exception("RUNTIME ERROR: Number expected in get expression.");
-					}       
-					double dub = (Double)second.getValue();
-					if (dub != Math.round(dub)) {
-						throw new Exception("RUNTIME ERROR: List index must be an integer.");
-					}
-					int index = (int)dub;
-					if (index < 0 || index >= list.size()) {
-						throw new Exception("RUNTIME ERROR: List index out of bounds.");
-					}
-					return list.get(index);
-				}
-				else if (this.tok.toString().equals("cat")) {
-					if (this.exprs.size() < 2) {
-						throw new Exception("RUNTIME ERROR: Incorrect arity in cat expression.");
-					}                                  
-					for (int i = 1; i < this.exprs.size(); i++) {
-						DataValue val = this.exprs.get(i).evaluate();
-						if (val.getType() != DataValue.Type.LIST && val.getType() != DataValue.Type.STRING) {
-							throw new Exception("RUNTIME ERROR: Type mismatch in cat expression.");
-						}
-						list.addAll((ArrayList<DataValue>)val.getValue());                         
-					}                  
-					return new ListValue(list);
-				}
-			}
+        }
+        return text.toString();
+    }
 
-            // === FUNCTION CALL ===
-            if (this.tok.getType() == Token.Type.IDENTIFIER && this.exprs != null) {
-                FunctionDecl function = Interpreter.MEMORY.lookupFunction(this.tok.toString());
-                if (function == null) {
-                    throw new Exception("RUNTIME ERROR: Function '" + this.tok + "' not declared.");
-                }
+    /**
+     * Records the node that holds this expression (so it can be replaced).
+     *   @param holder the parent statement or expression
+     *   @return this expression
+     */
+    public Expression adoptedBy(ExpressionHolder holder) {
+        this.holder = holder;
+        return this;
+    }
 
-                if (this.exprs.size() != function.getParameters().size()) {
-                    throw new Exception("RUNTIME ERROR: Function '" + function.getName() +
-                                        "' expects " + function.getParameters().size() + " arguments.");
-                }
+    /**
+     * Replaces this expression, in its holder, with another node (e.g., a version
+     * specialized for the operand types seen so far).  Expressions that have no
+     * holder yet (e.g., while being constant-folded) are left in place.
+     *   @param newNode the replacement node
+     */
+    protected void replace(Expression newNode) {
+        if (this.holder != null) {
+            newNode.holder = this.holder;
+            this.holder.replaceChild(this, newNode);
+        }
+    }
 
-                Interpreter.MEMORY.beginNestedScope();
-                
+    /**
+     * Emits JVM bytecode that leaves the expression's value on the stack.  By
+     * default, the compiled code calls this expression's evaluate method.
+     *   @param jit the compiler emitting the code
+     */
+    public void compile(JitCompiler jit) {
+        jit.emitEvaluate(this);
+    }
 
-                for (int i = 0; i < this.exprs.size(); i++) {
-                    String paramName = function.getParameters().get(i);
-                    DataValue argValue = this.exprs.get(i).evaluate();
-                    Token paramToken = new Token(paramName);
-                    Interpreter.MEMORY.declareVariable(paramToken);
-                    Interpreter.MEMORY.storeValue(paramToken, argValue);
-                
-                }
+    /**
+     * Emits VirtualMachine instructions that push the expression's value.  By
+     * default, the instructions call this expression's evaluate method.
+     *   @param vm the compiler emitting the instructions
+     */
+    public void compile(VmCompiler vm) {
+        vm.emitEvaluate(this);
+    }
 
-                Token returnToken = new Token("__return__");
-                DataValue returnValue;
+    /**
+     * Records what evaluating the expression may do, for the purity analysis of the
+     * enclosing function.  By default, an expression is assumed to have side effects.
+     *   @param check the analysis collecting the effects
+     */
+    public void checkPurity(PurityCheck check) {
+        check.markImpure();
+    }
 
-                try {
-                    for (Statement stmt : function.getBody()) {
-                        stmt.execute();
-                    }
-                } catch (ReturnException e) {
-                    if (Interpreter.MEMORY.isDeclared(returnToken)) {
-                        returnValue = Interpreter.MEMORY.lookupValue(returnToken);
-                    } else {
-                        Interpreter.MEMORY.endCurrentScope(); 
-                        throw new Exception("RUNTIME ERROR: Function '" + function.getName() + "' did not return a value.");
-                    }
+    /**
+     * Emits JVM bytecode that leaves the expression's value on the stack as an
+     * unboxed number (failing if it is not a number).
+     *   @param jit the compiler emitting the code
+     */
+    public void compileNumber(JitCompiler jit) {
+        this.compile(jit);
+        jit.emitToNumber();
+    }
 
-                    Interpreter.MEMORY.endCurrentScope(); 
-                    return returnValue;                 
-                }
+    /**
+     * Emits JVM bytecode that leaves the expression's value on the stack as a JVM
+     * boolean (failing with the specified message if it is not a Boolean).
+     *   @param jit the compiler emitting the code
+     *   @param error the error message for a non-Boolean value
+     */
+    public void compileCondition(JitCompiler jit, String error) {
+        this.compile(jit);
+        jit.emitToBoolean(error);
+    }
 
-                DataValue defaultReturn = new BooleanValue(true);
-				Interpreter.MEMORY.endCurrentScope();
-				return defaultReturn;
+    /**
+     * Determines whether the expression is known to produce a number (if it succeeds).
+     *   @return true if the expression is always numeric; else, false
+     */
+    public boolean isNumeric() {
+        return false;
+    }
 
-            }
+    /**
+     * Determines whether the expression always evaluates to the same value
+     * (without accessing memory or calling functions, so it can be evaluated
+     * with a null MemorySpace).
+     *   @return true if the expression is a constant; else, false
+     */
+    public boolean isConstant() {
+        return false;
+    }
 
-            throw new Exception("RUNTIME ERROR: Unknown expression format.");
+    /**
+     * Builds the node for a parenthesized expression, constant-folding a built-in
+     * function whose operands are all constants.
+     *   @param op the operator (built-in function or function name)
+     *   @param args the operand expressions
+     *   @return the corresponding Expression node
+     */
+    public static Expression operation(Token op, Expression[] args) throws Exception {
+        Expression expr = Expression.getOperation(op, args);
+        if (op.getType() == Token.Type.IDENTIFIER) {
+            return expr;
         }
+        return Expression.fold(expr, args);
+    }
 
-        throw new Exception("RUNTIME ERROR: Unknown expression format.");
+    /**
+     * Builds the node for a list expression (constant-folded if all items are constants).
+     *   @param items the item expressions
+     *   @return the corresponding Expression node
+     */
+    public static Expression list(Expression[] items) {
+        return Expression.fold(new ListLiteral(items), items);
     }
 
     /**
-     * Converts the current expression into a String.
-     *   @return the String representation of this expression
+     * Builds the node for a parenthesized expression, based on its operator.
+     *   @param op the operator (built-in function or function name)
+     *   @param args the operand expressions
+     *   @return the corresponding Expression node
      */
-    public String toString() {
-        if (this.exprs == null) {
-            return this.tok.toString();
+    private static Expression getOperation(Token op, Expression[] args) throws Exception {
+        String name = op.toString();
+        if (op.getType() == Token.Type.MATH_FUNC) {
+            if (name.equals("+")) {
+                return new MathAdd(op, args);
+            } else if (name.equals("*")) {
+                return new MathMul(op, args);
+            } else {
+                return new MathDiv(op, args);
+            }
         }
-        else if (this.tok.toString().equals("[")) {
-            String message = "[";
-            for (Expression e: this.exprs) {
-                message += e + " ";
+        else if (op.getType() == Token.Type.BOOL_FUNC) {
+            if (name.equals("not")) {
+                return new BoolNot(op, args);
+            } else if (name.equals("and")) {
+                return new BoolAnd(op, args);
+            } else if (name.equals("or")) {
+                return new BoolOr(op, args);
+            } else {
+                return new Compare(op, args);
             }
-            return message.trim() + "]";
         }
-        else {
-            String message = "(" + this.tok;
-            for (Expression e : this.exprs) {
-                message = message + " " + e;
+        else if (op.getType() == Token.Type.SEQ_FUNC) {
+            if (name.equals("len")) {
+                return new SeqLen(op, args);
+            } else if (name.equals("get")) {
+                return new SeqGet(op, args);
+            } else if (name.equals("cat")) {
+                return new SeqCat(op, args);
+            } else {
+                return new SeqStr(op, args);
             }
-            return message + ")";
+        }
+        else {
+            return new Call(op, args, Expression.getApplyFunction(op, args));
         }
     }
-}
-
-
 
+    /**
+     * Builds the node for map, filter, reduce or count.  These built-ins are not
+     * reserved words: a call by one of these names runs the built-in unless a
+     * function of that name is declared (see Call).
+     *   @param op the function name
+     *   @param args the operand expressions
+     *   @return the built-in's node, or null if the name is not one of them
+     */
+    private static SeqApply getApplyFunction(Token op, Expression[] args) {
+        String name = op.toString();
+        if (name.equals("map")) {
+            return new SeqMap(op, args);
+        } else if (name.equals("filter")) {
+            return new SeqFilter(op, args);
+        } else if (name.equals("reduce")) {
+            return new SeqReduce(op, args);
+        } else if (name.equals("count")) {
+            return new SeqCount(op, args);
+        }
+        return null;
+    }
 
+    /**
+     * Constant-folds an expression: if all of its operands are constants, it is
+     * evaluated once (at parse time) and replaced by a Literal holding the result.
+     * Expressions whose evaluation fails are kept, so the error still occurs at runtime.
+     *   @param expr the expression (a built-in operation or list)
+     *   @param operands the operands of that expression
+     *   @return the folded Literal, or expr if it cannot be folded
+     */
+    private static Expression fold(Expression expr, Expression[] operands) {
+        for (Expression e : operands) {
+            if (!e.isConstant()) {
+                return expr;
+            }
+        }
+        try {
+            return new Literal(expr.evaluate(null), expr.toString());
+        } catch (Exception e) {
+            return expr;
+        }
+    }
+}
@@ -0,0 +1,9 @@
+/**
+ * Interface for a node (statement or expression) that holds expressions as
+ *   children.  Expressions that specialize themselves at runtime ask their
+ *   holder to swap them for the new node.
+ *   @version 10/18/26
+ */
+public interface ExpressionHolder {
+    public void replaceChild(Expression oldChild, Expression newChild);
+}
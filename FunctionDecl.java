@@ -8,50 +8,83 @@
 
 
 
-import java.util.List;
 import java.util.ArrayList;
+import java.util.List;
+import java.util.ArrayDeque;
+import java.util.HashSet;
 
 public class FunctionDecl extends Statement {
     private final String name;
     private final List<Statement> body;
     private final List<String> parameters;
+    private int frameSize;
+    private int invocations;
+    private CompiledCode compiled;
+    private VmCode vmCode;
+    private boolean memo;
+    private Boolean pure;
 
     public FunctionDecl(String name, List<String> parameters, List<Statement> body) {
+        this(name, parameters, body, false);
+    }
+
+    /**
+     * Constructs a function declaration (e.g., from a SyntaxArena).
+     * @param name the function name
+     * @param parameters the parameter names
+     * @param body the statements of the body
+     * @param memo true for "func memo name(...)": results are cached (if the
+     *        function turns out to be pure)
+     */
+    public FunctionDecl(String name, List<String> parameters, List<Statement> body, boolean memo) {
         this.name = name;
         this.parameters = parameters;
         this.body = body;
+        this.memo = memo;
     }
 
-    // Constructor that parses func declarations from input
-    public FunctionDecl(TokenStream input) throws Exception {
-        Token idTok = input.next();  
-        if (idTok.getType() != Token.Type.IDENTIFIER) {
-            throw new Exception("SYNTAX ERROR: Function name expected after 'func'");
-        }
-        this.name = idTok.toString();
-        if (!input.next().toString().equals("(")) {
-            throw new Exception("SYNTAX ERROR: '(' expected after function name");
+    /**
+     * Resolves the function body in a frame of its own: the parameters occupy the
+     * first slots, followed by the body's local variables.
+     * @param r the resolver for the enclosing scope
+     */
+    @Override
+    public void resolve(Resolver r) {
+        Resolver inner = r.forFunction();
+        for (String param : this.parameters) {
+            inner.declareLocal(Token.intern(param));
         }
-
-        this.parameters = new ArrayList<>();
-        while (!input.lookAhead().toString().equals(")")) {
-            Token paramTok = input.next();
-            if (paramTok.getType() != Token.Type.IDENTIFIER) {
-                throw new Exception("SYNTAX ERROR: Parameter names must be identifiers.");
-            }
-            this.parameters.add(paramTok.toString());
+        for (Statement stmt : this.body) {
+            stmt.resolve(inner);
         }
+        this.frameSize = inner.getFrameSize();
+    }
 
-        input.next();  
-        Compound compound = new Compound(input);
-        this.body = new ArrayList<>(compound.getStatements());
+    @Override
+    public DataValue execute(MemorySpace mem) throws Exception {
+        return null;
+    }
 
-        Interpreter.MEMORY.declareFunction(this.name, this);
+    /**
+     * Declares the function (after any functions declared inside its body).
+     * @param mem the memory space holding the function table
+     */
+    @Override
+    public void declareFunctions(MemorySpace mem) throws Exception {
+        for (Statement stmt : this.body) {
+            stmt.declareFunctions(mem);
+        }
+        mem.declareFunction(this.name, this);
     }
 
     @Override
-    public void execute() throws Exception {
+    public void checkPurity(PurityCheck check) {
+        // declarations have no runtime effect
+    }
 
+    @Override
+    public void compile(VmCompiler vm) {
+        // declarations have no runtime effect; the body is compiled on its first call
     }
 
     public List<Statement> getBody() {
@@ -66,6 +99,99 @@ public class FunctionDecl extends Statement {
         return parameters;
     }
 
+    public int getFrameSize() {
+        return frameSize;
+    }
+
+    /**
+     * Accesses the body compiled for the VirtualMachine (compiling it on first use).
+     * @return the compiled body
+     */
+    public VmCode getVmCode() {
+        if (vmCode == null) {
+            vmCode = VmCompiler.compileFunction(body);
+        }
+        return vmCode;
+    }
+
+    /**
+     * Counts an invocation of the function, compiling its body once it becomes hot
+     * (invocations in a worker's memory space are not counted).
+     * @param mem the memory space the function is called in
+     * @return the compiled body, or null if it is (still) interpreted
+     */
+    public CompiledCode getCompiledBody(MemorySpace mem) {
+        if (!mem.isWorker() && invocations <= JitCompiler.THRESHOLD && invocations++ == JitCompiler.THRESHOLD) {
+            compiled = JitCompiler.compile(body);
+        }
+        return compiled;
+    }
+
+    public boolean isMemo() {
+        return memo;
+    }
+
+    /**
+     * Determines whether the function is pure: its body (and the body of every
+     * function it calls, directly or not) only uses local variables and has no
+     * side effects.  The answer is computed on first use, once every function
+     * called is declared; if the function is pure, so is every function it calls,
+     * and they are all marked at once (so workers calling them only read it).
+     * @param mem the memory space holding the function table
+     * @return true if the function is pure; else, false
+     */
+    public boolean isPure(MemorySpace mem) {
+        if (pure == null) {
+            HashSet<FunctionDecl> visited = new HashSet<>();
+            ArrayDeque<FunctionDecl> pending = new ArrayDeque<>();
+            visited.add(this);
+            pending.push(this);
+            ArrayList<FunctionDecl> checked = new ArrayList<>();
+            while (!pending.isEmpty()) {
+                FunctionDecl function = pending.pop();
+                if (function.pure == Boolean.TRUE) {
+                    continue;
+                }
+                checked.add(function);
+                PurityCheck check = new PurityCheck(mem);
+                for (Statement stmt : function.body) {
+                    stmt.checkPurity(check);
+                }
+                if (check.hasSideEffects() || function.pure == Boolean.FALSE) {
+                    pure = false;
+                    return false;
+                }
+                for (String name : check.getCallees()) {
+                    FunctionDecl callee = mem.lookupFunction(name);
+                    if (callee == null) {
+                        return false;
+                    }
+                    if (visited.add(callee)) {
+                        pending.push(callee);
+                    }
+                }
+            }
+            for (FunctionDecl function : checked) {
+                function.pure = true;
+            }
+        }
+        return pure;
+    }
+
+    /**
+     * Accesses the cache of results, for a function declared with memo.  Each run
+     * (memory space) has its own cache.
+     * @param mem the memory space holding the function table
+     * @return the cache, or null if results are not cached (the function is not
+     *         declared with memo, or it is not pure)
+     */
+    public MemoCache getMemoCache(MemorySpace mem) {
+        if (!memo || !isPure(mem)) {
+            return null;
+        }
+        return mem.getMemoCache(this);
+    }
+
     @Override
     public String toString() {
         return "FunctionDecl{name='" + name + "', parameters=" + parameters + ", body=" + body + '}';
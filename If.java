@@ -3,46 +3,96 @@
  *   @author Dave Reed
  *   @version 1/20/25
  */
-public class If extends Statement {
+public class If extends Statement implements ExpressionHolder {
     private Expression test;
     private Compound ifBody;
     private Compound elseBody;
 
     /**
-     * Reads in an if statement from the specified stream
-     *   @param input the stream to be read from
+     * Constructs an if statement (e.g., from a SyntaxArena).
+     *   @param test the test expression
+     *   @param ifBody the statements executed if the test is true
+     *   @param elseBody the statements executed if the test is false
      */
-    public If(TokenStream input) throws Exception {
-        if (!input.next().toString().equals("if")) {
-            throw new Exception("SYNTAX ERROR: Malformed if statement");
-        }
-        this.test = new Expression(input);
-        this.ifBody = new Compound(input);
-        
-        if (!input.next().toString().equals("else")) {
-        	throw new Exception("SYNTAX ERROR: Malformed if statement");
+    public If(Expression test, Compound ifBody, Compound elseBody) {
+        this.test = test.adoptedBy(this);
+        this.ifBody = ifBody;
+        this.elseBody = elseBody;
+    }
+
+    /**
+     * Replaces the test (when it specializes itself).
+     *   @param oldChild the expression being replaced
+     *   @param newChild its replacement
+     */
+    public void replaceChild(Expression oldChild, Expression newChild) {
+        if (this.test == oldChild) {
+            this.test = newChild;
         }
-        
-        this.elseBody = new Compound(input);
+    }
+
+    /**
+     * Resolves the current if statement.
+     *   @param r the resolver for the enclosing scope
+     */
+    public void resolve(Resolver r) {
+        this.test.resolve(r);
+        this.ifBody.resolve(r);
+        this.elseBody.resolve(r);
+    }
+
+    public void declareFunctions(MemorySpace mem) throws Exception {
+        this.ifBody.declareFunctions(mem);
+        this.elseBody.declareFunctions(mem);
+    }
+
+    public void checkPurity(PurityCheck check) {
+        this.test.checkPurity(check);
+        this.ifBody.checkPurity(check);
+        this.elseBody.checkPurity(check);
     }
 
     /**
      * Executes the current if statement.
      */
-    public void execute() throws Exception {
-        DataValue test = this.test.evaluate();
+    public DataValue execute(MemorySpace mem) throws Exception {
+        DataValue test = this.test.evaluate(mem);
         if (test.getType() != DataValue.Type.BOOLEAN) {
             throw new Exception("RUNTIME ERROR: If statement requires Boolean test.");
         } 
         
-        if (((Boolean) test.getValue())) {
-            this.ifBody.execute();
+        if (((BooleanValue) test).booleanValue()) {
+            return this.ifBody.execute(mem);
         } 
         else {
-            this.elseBody.execute();
+            return this.elseBody.execute(mem);
         }
     }
 
+    public void compile(JitCompiler jit) {
+        BytecodeEmitter.Label elseLabel = jit.newLabel();
+        BytecodeEmitter.Label endLabel = jit.newLabel();
+        this.test.compileCondition(jit, "RUNTIME ERROR: If statement requires Boolean test.");
+        jit.emitJumpIfFalse(elseLabel);
+        this.ifBody.compile(jit);
+        jit.emitJump(endLabel);
+        jit.placeLabel(elseLabel);
+        this.elseBody.compile(jit);
+        jit.placeLabel(endLabel);
+    }
+
+    public void compile(VmCompiler vm) {
+        int elseLabel = vm.newLabel();
+        int endLabel = vm.newLabel();
+        this.test.compile(vm);
+        vm.emitJump(VmCompiler.JUMP_IF_FALSE, elseLabel, vm.constant("RUNTIME ERROR: If statement requires Boolean test."));
+        this.ifBody.compile(vm);
+        vm.emitJump(VmCompiler.JUMP, endLabel);
+        vm.placeLabel(elseLabel);
+        this.elseBody.compile(vm);
+        vm.placeLabel(endLabel);
+    }
+
     /**
      * Converts the current if statement into a String.
      *   @return the String representation of this statement
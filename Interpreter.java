@@ -1,38 +1,67 @@
+import java.nio.file.Paths;
 import java.util.Scanner;
 
 /**
  * Driver for the interactive SILLY Interpreter. 
+ *   Run with -vm to execute statements on the VirtualMachine instead of
+ *   walking the syntax tree.  Run with -Dsilly.profile=FILE to profile the program:
+ *   the hot spots (-Dsilly.profile.top=N of each kind, default 10) and the hit
+ *   rates of memoized functions are printed to System.err at the end, and the
+ *   collapsed stacks are written to FILE
+ *   (-Dsilly.profile=true only prints the hot spots).  A run can be limited to
+ *   -Dsilly.limit.fuel=N loop iterations and function calls, -Dsilly.limit.depth=N
+ *   nested calls and -Dsilly.limit.millis=N milliseconds; exceeding a limit ends it.
  *   @author Dave Reed 
  *   @version 1/20/25
  */
 public class Interpreter {
-    public static MemorySpace MEMORY = new MemorySpace();
-    
     public static void main(String[] args) throws Exception {   
+        boolean useVm = (args.length > 0 && args[0].equals("-vm"));
     	System.out.print("Enter the program file name or hit RETURN for interactive: ");       
         Scanner input = new Scanner(System.in);
         String response = input.nextLine().strip();
         
-        TokenStream inStream = new TokenStream();
-        if (!response.equals("")) {
-            inStream = new TokenStream(response);
+        ArenaParser parser = null;
+        ProgramCache program = null;
+        if (response.equals("")) {
+            parser = new ArenaParser(new TokenStream());
+        } else {
+            program = new ProgramCache(response);
         }      
         
-        while (response.equals("") || inStream.hasNext()) {
-            System.out.print(">>> ");
-            Statement stmt = Statement.getStatement(inStream);
-            
-            if (!response.equals("")) {
-            	System.out.println(stmt);
+        Program compiled = new Program(useVm);
+        RunContext context = new RunContext(new StreamSink());
+        String profile = System.getProperty("silly.profile");
+        Profiler profiler = (profile != null ? new Profiler() : null);
+        context.setProfiler(profiler);
+        context.setBudget(Budget.fromProperties());
+        try {
+            while (response.equals("") || program.hasNext()) {
+                System.out.print(">>> ");
+                Statement stmt = (program != null ? program.getStatement() : parser.getStatement());
+                int index;
+                try {
+                    index = compiled.add(stmt);
+                } catch (Exception e) {
+                    System.out.println(e);
+                    continue;
+                }
+                
+                if (!response.equals("")) {
+                	System.out.println(stmt);
+                }
+                compiled.execute(index, context);
+            } 
+        } catch (BudgetExceeded e) {
+            // already printed by the program; the run ends here
+        } finally {
+            if (profiler != null) {
+                profiler.report(System.err, Integer.getInteger("silly.profile.top", 10), context.getMemoCaches());
+                if (!profile.isEmpty() && !profile.equals("true")) {
+                    profiler.writeCollapsed(Paths.get(profile));
+                }
             }
-    		
-            try {
-    			stmt.execute();
-    		}
-    		catch (Exception e) {
-    			System.out.println(e);
-    		}
-        } 
+        }
         input.close();
     }
 }
@@ -0,0 +1,320 @@
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Class that compiles hot statements (function bodies and while loops) into JVM
+ *   bytecode, loaded as a hidden class that extends CompiledCode.
+ *
+ *   Each node contributes its own code through its compile method; nodes that do
+ *   not override it are compiled as a call to their own execute/evaluate method,
+ *   so any statement can be compiled and unsupported parts simply run as in the
+ *   tree-walker.  If compilation fails for any reason, compile returns null and
+ *   the statements keep being interpreted.
+ *
+ *   Compilation is triggered after a function has been called, or a while loop
+ *   has iterated, THRESHOLD times (set with -Dsilly.jit.threshold=N; a negative
+ *   value disables the JIT).  -Dsilly.jit.trace=true reports each compilation.
+ *   @version 10/18/26
+ */
+public class JitCompiler {
+    public static final int THRESHOLD = Integer.getInteger("silly.jit.threshold", 1000);
+    private static final boolean TRACE = Boolean.getBoolean("silly.jit.trace");
+
+    private static final String DATA_VALUE = "DataValue";
+    private static final String VALUE_DESC = "LDataValue;";
+    private static final int MEM = 1;
+    private static final int CONSTANTS = 2;
+
+    private BytecodeEmitter out;
+    private ArrayList<Object> constants;
+    private int nextLocal;
+    private int resultLocal = -1;
+
+    private JitCompiler() {
+        this.out = new BytecodeEmitter("JitCode", "CompiledCode", 2);
+        this.constants = new ArrayList<Object>();
+        this.nextLocal = CONSTANTS + 1;
+    }
+
+    /**
+     * Compiles a sequence of statements.
+     *   @param stmts the statements (e.g., a function body)
+     *   @return the compiled code, or null if the statements could not be compiled
+     */
+    public static CompiledCode compile(List<Statement> stmts) {
+        JitCompiler jit = new JitCompiler();
+        try {
+            jit.out.local(BytecodeEmitter.ALOAD, 0);
+            jit.out.getfield("CompiledCode", "constants", "[Ljava/lang/Object;");
+            jit.out.local(BytecodeEmitter.ASTORE, CONSTANTS);
+            for (Statement stmt : stmts) {
+                stmt.compile(jit);
+            }
+            jit.out.op(BytecodeEmitter.ACONST_NULL, 1);
+            jit.out.op(BytecodeEmitter.ARETURN, -1);
+
+            byte[] bytes = jit.out.toByteArray("execute", "(LMemorySpace;)" + VALUE_DESC);
+            MethodHandles.Lookup lookup = MethodHandles.lookup().defineHiddenClass(bytes, true);
+            MethodType ctorType = MethodType.methodType(void.class, Object[].class);
+            CompiledCode code = (CompiledCode) lookup.findConstructor(lookup.lookupClass(), ctorType)
+                                                     .invoke(jit.constants.toArray());
+            if (TRACE) {
+                System.err.println("[jit] compiled " + stmts.size() + " statement(s), " + bytes.length + " bytes");
+            }
+            return code;
+        } catch (Throwable e) {
+            if (TRACE) {
+                System.err.println("[jit] compilation failed: " + e);
+            }
+            return null;
+        }
+    }
+
+    private void emitConstantRef(Object obj, String type) {
+        int index = 0;
+        while (index < this.constants.size() && this.constants.get(index) != obj) {
+            index++;
+        }
+        if (index == this.constants.size()) {
+            this.constants.add(obj);
+        }
+        this.out.local(BytecodeEmitter.ALOAD, CONSTANTS);
+        this.out.pushInt(index);
+        this.out.op(BytecodeEmitter.AALOAD, -1);
+        this.out.checkcast(type);
+    }
+
+    private void emitRuntime(String name, String desc) {
+        this.out.invoke(BytecodeEmitter.INVOKESTATIC, "JitRuntime", name, desc);
+    }
+
+    /**
+     * Emits a call to a statement's own execute method (the fallback for statements
+     * without specialized code).  If the statement executes a return, the compiled
+     * code returns the same value.
+     *   @param stmt the statement
+     */
+    public void emitExecute(Statement stmt) {
+        if (this.resultLocal < 0) {
+            this.resultLocal = this.newLocal();
+        }
+        BytecodeEmitter.Label normal = this.newLabel();
+        this.emitConstantRef(stmt, "Statement");
+        this.out.local(BytecodeEmitter.ALOAD, MEM);
+        this.out.invoke(BytecodeEmitter.INVOKEVIRTUAL, "Statement", "execute", "(LMemorySpace;)" + VALUE_DESC);
+        this.out.local(BytecodeEmitter.ASTORE, this.resultLocal);
+        this.out.local(BytecodeEmitter.ALOAD, this.resultLocal);
+        this.out.jump(BytecodeEmitter.IFNULL, normal, -1);
+        this.out.local(BytecodeEmitter.ALOAD, this.resultLocal);
+        this.emitReturn();
+        this.placeLabel(normal);
+    }
+
+    /**
+     * Emits code that returns the value on the stack from the compiled code (for a
+     * return statement).
+     */
+    public void emitReturn() {
+        this.out.op(BytecodeEmitter.ARETURN, -1);
+    }
+
+    /**
+     * Emits a call to an expression's own evaluate method, leaving its value on the
+     * stack (the fallback for expressions without specialized code).
+     *   @param expr the expression
+     */
+    public void emitEvaluate(Expression expr) {
+        this.emitConstantRef(expr, "Expression");
+        this.out.local(BytecodeEmitter.ALOAD, MEM);
+        this.out.invoke(BytecodeEmitter.INVOKEVIRTUAL, "Expression", "evaluate", "(LMemorySpace;)" + VALUE_DESC);
+    }
+
+    /**
+     * Emits code that pushes a constant value.
+     *   @param val the value
+     */
+    public void emitConstant(DataValue val) {
+        this.emitConstantRef(val, DATA_VALUE);
+    }
+
+    /**
+     * Emits code that pushes an unboxed number.
+     *   @param num the number
+     */
+    public void emitNumber(double num) {
+        this.out.pushDouble(num);
+    }
+
+    /**
+     * Emits code that loads a variable (failing if it is undeclared).
+     *   @param depth the frame depth of the variable
+     *   @param slot the slot of the variable
+     *   @param vbl the variable name (for the error message)
+     */
+    public void emitLoad(int depth, int slot, Token vbl) {
+        this.out.local(BytecodeEmitter.ALOAD, MEM);
+        this.out.pushInt(depth);
+        this.out.pushInt(slot);
+        this.emitConstantRef(vbl, "java/lang/Object");
+        this.emitRuntime("load", "(LMemorySpace;IILjava/lang/Object;)" + VALUE_DESC);
+    }
+
+    /**
+     * Emits code that evaluates an expression and stores its value in a variable.
+     *   @param depth the frame depth of the variable
+     *   @param slot the slot of the variable
+     *   @param expr the expression whose value is stored
+     */
+    public void emitStore(int depth, int slot, Expression expr) {
+        this.out.local(BytecodeEmitter.ALOAD, MEM);
+        this.out.pushInt(depth);
+        this.out.pushInt(slot);
+        expr.compile(this);
+        this.out.invoke(BytecodeEmitter.INVOKEVIRTUAL, "MemorySpace", "storeValue", "(II" + VALUE_DESC + ")V");
+    }
+
+    /**
+     * Emits code that clears a range of slots in the current frame.
+     *   @param from the first slot
+     *   @param to one past the last slot
+     */
+    public void emitClearFrame(int from, int to) {
+        this.out.local(BytecodeEmitter.ALOAD, MEM);
+        this.out.pushInt(from);
+        this.out.pushInt(to);
+        this.out.invoke(BytecodeEmitter.INVOKEVIRTUAL, "MemorySpace", "clearFrame", "(II)V");
+    }
+
+    /**
+     * Emits code that converts the value on the stack to an unboxed number.
+     */
+    public void emitToNumber() {
+        this.emitRuntime("toNumber", "(" + VALUE_DESC + ")D");
+    }
+
+    /**
+     * Emits code that boxes the unboxed number on the stack as a NumberValue.
+     */
+    public void emitBoxNumber() {
+        this.emitRuntime("number", "(D)" + VALUE_DESC);
+    }
+
+    /**
+     * Emits an arithmetic instruction on the two unboxed numbers on the stack.
+     *   @param opcode BytecodeEmitter.DADD, DMUL or DDIV
+     */
+    public void emitArithmetic(int opcode) {
+        this.out.op(opcode, -2);
+    }
+
+    /**
+     * Emits code that converts the value on the stack to a JVM boolean.
+     *   @param error the error message if the value is not a Boolean
+     */
+    public void emitToBoolean(String error) {
+        this.out.pushString(error);
+        this.emitRuntime("toBoolean", "(" + VALUE_DESC + "Ljava/lang/String;)Z");
+    }
+
+    /**
+     * Emits code that boxes the JVM boolean on the stack as a BooleanValue.
+     */
+    public void emitBoxBoolean() {
+        this.emitRuntime("bool", "(Z)" + VALUE_DESC);
+    }
+
+    /**
+     * Emits a comparison of the two values on the stack, leaving a JVM boolean.
+     *   @param cmp the comparison operator
+     */
+    public void emitCompare(Compare.Op cmp) {
+        this.out.pushInt(cmp.ordinal());
+        this.emitRuntime("compare", "(" + VALUE_DESC + VALUE_DESC + "I)Z");
+    }
+
+    /**
+     * Emits a comparison of the two unboxed numbers on the stack, leaving a JVM boolean.
+     *   @param cmp the comparison operator
+     */
+    public void emitCompareNumbers(Compare.Op cmp) {
+        this.out.pushInt(cmp.ordinal());
+        this.emitRuntime("compareNumbers", "(DDI)Z");
+    }
+
+    /**
+     * Emits code that converts the value on the stack into a repeat count.
+     */
+    public void emitRepeatCount() {
+        this.emitRuntime("repeatCount", "(" + VALUE_DESC + ")I");
+    }
+
+    /**
+     * Emits code that prints the value on the stack (to the memory space's output).
+     */
+    public void emitPrint() {
+        this.out.local(BytecodeEmitter.ALOAD, MEM);
+        this.emitRuntime("print", "(" + VALUE_DESC + "LMemorySpace;)V");
+    }
+
+    /**
+     * Emits code that charges a loop iteration to the run's budget (at a back edge).
+     */
+    public void emitTick() {
+        this.out.local(BytecodeEmitter.ALOAD, MEM);
+        this.emitRuntime("tick", "(LMemorySpace;)V");
+    }
+
+    /**
+     * Reserves a JVM local variable (e.g., for a loop counter).
+     *   @return the index of the local
+     */
+    public int newLocal() {
+        return this.nextLocal++;
+    }
+
+    public void emitInt(int val) {
+        this.out.pushInt(val);
+    }
+
+    public void emitLoadInt(int local) {
+        this.out.local(BytecodeEmitter.ILOAD, local);
+    }
+
+    public void emitStoreInt(int local) {
+        this.out.local(BytecodeEmitter.ISTORE, local);
+    }
+
+    public void emitIncrement(int local) {
+        this.out.increment(local, 1);
+    }
+
+    public BytecodeEmitter.Label newLabel() {
+        return this.out.newLabel();
+    }
+
+    public void placeLabel(BytecodeEmitter.Label label) {
+        this.out.place(label);
+    }
+
+    public void emitJump(BytecodeEmitter.Label label) {
+        this.out.jump(BytecodeEmitter.GOTO, label, 0);
+    }
+
+    /**
+     * Emits a branch taken if the JVM boolean on the stack is false.
+     *   @param label the branch target
+     */
+    public void emitJumpIfFalse(BytecodeEmitter.Label label) {
+        this.out.jump(BytecodeEmitter.IFEQ, label, -1);
+    }
+
+    /**
+     * Emits a branch taken if the first of the two ints on the stack is >= the second.
+     *   @param label the branch target
+     */
+    public void emitJumpIfGreaterOrEqual(BytecodeEmitter.Label label) {
+        this.out.jump(BytecodeEmitter.IF_ICMPGE, label, -2);
+    }
+}
@@ -0,0 +1,70 @@
+/**
+ * Static helper methods called from JIT-compiled code.  Each one performs the
+ *   same checks (with the same error messages) as the corresponding tree-walking
+ *   node, so compiled and interpreted runs behave identically.
+ *   @version 10/18/26
+ */
+public class JitRuntime {
+    public static DataValue load(MemorySpace mem, int depth, int slot, Object vbl) throws Exception {
+        DataValue val = mem.lookupValue(depth, slot);
+        if (val == null) {
+            throw new Exception("RUNTIME ERROR: variable " + vbl + " is undeclared.");
+        }
+        return val;
+    }
+
+    public static double toNumber(DataValue val) throws Exception {
+        if (val.getType() != DataValue.Type.NUMBER) {
+            throw new Exception("RUNTIME ERROR: Number value expected.");
+        }
+        return ((NumberValue) val).doubleValue();
+    }
+
+    public static DataValue number(double num) {
+        return NumberValue.of(num);
+    }
+
+    public static DataValue bool(boolean val) {
+        return BooleanValue.of(val);
+    }
+
+    public static boolean toBoolean(DataValue val, String error) throws Exception {
+        if (val.getType() != DataValue.Type.BOOLEAN) {
+            throw new Exception(error);
+        }
+        return ((BooleanValue) val).booleanValue();
+    }
+
+    public static boolean compare(DataValue val1, DataValue val2, int op) throws Exception {
+        if (val1.getType() != val2.getType()) {
+            throw new Exception("RUNTIME ERROR: Type mismatch in comparison.");
+        }
+        return Compare.test(Compare.fromOrdinal(op), val1, val2);
+    }
+
+    public static boolean compareNumbers(double num1, double num2, int op) {
+        return Compare.holds(Compare.fromOrdinal(op), Double.compare(num1, num2));
+    }
+
+    public static int repeatCount(DataValue val) throws Exception {
+        if (val.getType() != DataValue.Type.NUMBER) {
+            throw new Exception("Runtime Error: Repeat statement requires a numeric expression.");
+        }
+        double evaluatedValue = ((NumberValue) val).doubleValue();
+        if (evaluatedValue != Math.floor(evaluatedValue)) {
+            throw new Exception("Runtime Error: Repeat count must be an integer value.");
+        }
+        return (int) evaluatedValue;
+    }
+
+    public static void print(DataValue val, MemorySpace mem) {
+        mem.getOutput().println(val);
+    }
+
+    public static void tick(MemorySpace mem) throws BudgetExceeded {
+        Budget budget = mem.getBudget();
+        if (budget != null) {
+            budget.tick();
+        }
+    }
+}
@@ -0,0 +1,72 @@
+/**
+ * Derived class that represents a list expression, e.g., [1 2 x].
+ *   @version 10/18/26
+ */
+public class ListLiteral extends Expression implements ExpressionHolder {
+    private Expression[] items;
+
+    public ListLiteral(Expression[] items) {
+        this.items = items;
+        for (Expression e : items) {
+            e.adoptedBy(this);
+        }
+    }
+
+    /**
+     * Replaces an item (when it specializes itself).
+     *   @param oldChild the item being replaced
+     *   @param newChild its replacement
+     */
+    public void replaceChild(Expression oldChild, Expression newChild) {
+        for (int i = 0; i < this.items.length; i++) {
+            if (this.items[i] == oldChild) {
+                this.items[i] = newChild;
+            }
+        }
+    }
+
+    protected Expression[] getOperands() {
+        return this.items;
+    }
+
+    public void checkPurity(PurityCheck check) {
+        for (Expression e : this.items) {
+            e.checkPurity(check);
+        }
+    }
+
+    /**
+     * Evaluates the current list expression.
+     *   @return a list containing the value of each item
+     */
+    public DataValue evaluate(MemorySpace mem) throws Exception {
+        DataValue[] vals = new DataValue[this.items.length];
+        for (int i = 0; i < this.items.length; i++) {
+            vals[i] = this.items[i].evaluate(mem);
+        }
+        return new ListValue(Rope.of(vals));
+    }
+
+    public void compile(VmCompiler vm) {
+        for (Expression e : this.items) {
+            e.compile(vm);
+        }
+        vm.emit(VmCompiler.LIST, this.items.length);
+    }
+
+    /**
+     * Converts the current list expression into a String.
+     *   @return the String representation of this expression
+     */
+    public String toString() {
+        return this.describe();
+    }
+
+    protected String getOpenText() {
+        return "[";
+    }
+
+    protected String getCloseText() {
+        return "]";
+    }
+}
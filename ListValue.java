@@ -1,19 +1,24 @@
-import java.util.List;
 import java.util.ArrayList;
+import java.util.Iterator;
 
 /**
- * Class that represents a list value.
+ * Class that represents a list value.  The items are stored in an immutable Rope,
+ *   so lists can be concatenated without copying (or modifying) either one.
+ *   Lists are compared item by item, stopping at the first difference; since a
+ *   list never changes, its hash code is computed once, so most unequal lists are
+ *   told apart by their lengths or hash codes alone.
  *   @author Dave Reed
  *   @version 1/20/25
  */
 public class ListValue implements DataValue {
-    protected List<DataValue> value;
+    protected Rope value;
+    private int hash;
 
     /**
      * Constructs a default list value (empty list).
      */
     public ListValue() {
-        this.value = new ArrayList<DataValue>();
+        this.value = Rope.EMPTY;
     }
 
     /**
@@ -21,10 +26,15 @@ public class ListValue implements DataValue {
      *   @param vals the list values being stored
      */
     public ListValue(ArrayList<DataValue> vals) {
-        this();
-        for (DataValue v : vals) {
-            this.value.add(v);
-        }
+        this.value = Rope.of(vals);
+    }
+
+    /**
+     * Constructs a list value.
+     *   @param vals the rope of values being stored
+     */
+    public ListValue(Rope vals) {
+        this.value = vals;
     }
     
     /**
@@ -49,19 +59,97 @@ public class ListValue implements DataValue {
  */
 public String toString() {
     StringBuilder message = new StringBuilder();
-    for (DataValue v : this.value) {
-        message.append(v);
-    }
+    this.value.appendTo(message);
     return message.toString();
 }
 
     /**
-     * Comparison method for ListValues.
+     * Writes the items of the list to an output sink, one by one.
+     *   @param out the sink
+     */
+    public void writeTo(OutputSink out) {
+        this.value.writeTo(out);
+    }
+
+    /**
+     * Comparison method for ListValues: the first pair of items that differ decides
+     * (items of different types are ordered by type), and a list comes before the
+     * longer lists it starts.
      *   @param other the value being compared with
      *   @return negative if <, 0 if ==, positive if >
      */
     public int compareTo(DataValue other) {
-        return (this.getValue().toString()).compareTo(other.getValue().toString());
+        Rope otherItems = ((ListValue) other).value;
+        if (this.value == otherItems) {
+            return 0;
+        }
+        Iterator<DataValue> others = otherItems.iterator();
+        for (DataValue item : this.value) {
+            if (!others.hasNext()) {
+                return 1;
+            }
+            DataValue otherItem = others.next();
+            int result = (item.getType() == otherItem.getType() ? item.compareTo(otherItem)
+                                                                  : item.getType().compareTo(otherItem.getType()));
+            if (result != 0) {
+                return result;
+            }
+        }
+        return (others.hasNext() ? -1 : 0);
+    }
+
+    /**
+     * Determines whether another value is a list of the same type with equal items.
+     * Lists whose lengths or hash codes differ are unequal without looking further.
+     *   @param other the value being compared with
+     *   @return true if the lists are equal
+     */
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof ListValue)) {
+            return false;
+        }
+        ListValue that = (ListValue) other;
+        if (this.getType() != that.getType() || this.size() != that.size() || this.hashCode() != that.hashCode()) {
+            return false;
+        }
+        return this.sameItems(that);
+    }
+
+    /**
+     * Compares the items of two lists of the same type and length.
+     *   @param that the other list
+     *   @return true if every pair of items is equal
+     */
+    protected boolean sameItems(ListValue that) {
+        if (this.value == that.value) {
+            return true;
+        }
+        Iterator<DataValue> others = that.value.iterator();
+        for (DataValue item : this.value) {
+            if (!item.equals(others.next())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Computes a hash code from the items (once, as the list never changes).
+     *   @return the hash code
+     */
+    public int hashCode() {
+        int h = this.hash;
+        if (h == 0) {
+            h = 1;
+            for (DataValue item : this.value) {
+                h = 31 * h + item.hashCode();
+            }
+            this.hash = h;
+        }
+        return h;
     }
 
     /**
@@ -82,10 +170,10 @@ public String toString() {
     }
 
     /**
-     * Concatenates another ListValue.
-     *   @param other the ListValue to concatenate
+     * Accesses the items of the list.
+     *   @return the rope of items
      */
-    public void addAll(ListValue other) {
-        this.value.addAll(other.value);
+    public Rope items() {
+        return this.value;
     }
 }
\ No newline at end of file
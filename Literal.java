@@ -0,0 +1,94 @@
+/**
+ * Derived class that represents a literal value (number, Boolean, character
+ * or string) in an expression.  The value is built once, when the literal is
+ * parsed, and shared by every evaluation (values are never modified in place).
+ *   @version 10/18/26
+ */
+public class Literal extends Expression {
+    private DataValue value;
+    private String text;
+
+    /**
+     * Constructs a literal from its token.
+     *   @param tok the literal token (e.g., 12, true, 'a' or "abc")
+     */
+    public Literal(Token tok) {
+        this(Literal.toValue(tok), tok.toString());
+    }
+
+    /**
+     * Constructs a literal for an already computed (e.g., constant-folded) value.
+     *   @param value the value of the literal
+     *   @param text the source text the literal stands for
+     */
+    public Literal(DataValue value, String text) {
+        this.value = value;
+        this.text = text;
+    }
+
+    /**
+     * Converts a literal token into the value it represents.
+     *   @param tok the literal token
+     *   @return the corresponding value
+     */
+    private static DataValue toValue(Token tok) {
+        String str = tok.toString();
+        switch (tok.getType()) {
+            case NUM_LITERAL:
+                return NumberValue.of(Double.parseDouble(str));
+            case BOOL_LITERAL:
+                return BooleanValue.of(Boolean.parseBoolean(str));
+            case CHAR_LITERAL:
+                return CharValue.of(str.charAt(1));
+            default:
+                return new StringValue(str.substring(1, str.length() - 1));
+        }
+    }
+
+    /**
+     * Evaluates the current literal.
+     *   @return the value represented by the literal
+     */
+    public DataValue evaluate(MemorySpace mem) {
+        return this.value;
+    }
+
+    public void checkPurity(PurityCheck check) {
+    }
+
+    public void compile(JitCompiler jit) {
+        jit.emitConstant(this.value);
+    }
+
+    public void compile(VmCompiler vm) {
+        vm.emitConstant(this.value);
+    }
+
+    public void compileNumber(JitCompiler jit) {
+        if (this.isNumeric()) {
+            jit.emitNumber(((NumberValue) this.value).doubleValue());
+        } else {
+            super.compileNumber(jit);
+        }
+    }
+
+    public boolean isNumeric() {
+        return this.value.getType() == DataValue.Type.NUMBER;
+    }
+
+    /**
+     * Identifies the literal as a constant expression.
+     *   @return true
+     */
+    public boolean isConstant() {
+        return true;
+    }
+
+    /**
+     * Converts the current literal into a String.
+     *   @return the literal as it appears in the program
+     */
+    public String toString() {
+        return this.text;
+    }
+}
@@ -0,0 +1,42 @@
+/**
+ * Derived class that represents an addition expression, e.g., (+ x 1).
+ *   @version 10/18/26
+ */
+public class MathAdd extends Operation {
+    public MathAdd(Token op, Expression[] args) {
+        super(op, args);
+    }
+
+    /**
+     * Evaluates the current addition expression.
+     *   @return the sum of the operands
+     */
+    public DataValue evaluate(MemorySpace mem) throws Exception {
+        if (this.args.length < 2) {
+            throw new Exception("RUNTIME ERROR: Incorrect arity in math expression.");
+        }
+        double returnVal = this.evaluateNumber(mem, 0);
+        for (int i = 1; i < this.args.length; i++) {
+            returnVal += this.evaluateNumber(mem, i);
+        }
+        this.specialize(mem, new MathAddNumber(this.op, this.args));
+        return NumberValue.of(returnVal);
+    }
+
+    public void compile(JitCompiler jit) {
+        this.compileNumber(jit);
+        jit.emitBoxNumber();
+    }
+
+    public void compileNumber(JitCompiler jit) {
+        this.compileArithmetic(jit, BytecodeEmitter.DADD);
+    }
+
+    public void compile(VmCompiler vm) {
+        this.compileArithmetic(vm, VmCompiler.ADD);
+    }
+
+    public boolean isNumeric() {
+        return this.args.length >= 2;
+    }
+}
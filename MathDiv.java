@@ -0,0 +1,42 @@
+/**
+ * Derived class that represents a division expression, e.g., (/ x 2).
+ *   @version 10/18/26
+ */
+public class MathDiv extends Operation {
+    public MathDiv(Token op, Expression[] args) {
+        super(op, args);
+    }
+
+    /**
+     * Evaluates the current division expression.
+     *   @return the first operand divided by the rest
+     */
+    public DataValue evaluate(MemorySpace mem) throws Exception {
+        if (this.args.length < 2) {
+            throw new Exception("RUNTIME ERROR: Incorrect arity in math expression.");
+        }
+        double returnVal = this.evaluateNumber(mem, 0);
+        for (int i = 1; i < this.args.length; i++) {
+            returnVal /= this.evaluateNumber(mem, i);
+        }
+        this.specialize(mem, new MathDivNumber(this.op, this.args));
+        return NumberValue.of(returnVal);
+    }
+
+    public void compile(JitCompiler jit) {
+        this.compileNumber(jit);
+        jit.emitBoxNumber();
+    }
+
+    public void compileNumber(JitCompiler jit) {
+        this.compileArithmetic(jit, BytecodeEmitter.DDIV);
+    }
+
+    public void compile(VmCompiler vm) {
+        this.compileArithmetic(vm, VmCompiler.DIV);
+    }
+
+    public boolean isNumeric() {
+        return this.args.length >= 2;
+    }
+}
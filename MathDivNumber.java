@@ -0,0 +1,23 @@
+/**
+ * Derived class that represents a division expression specialized for number operands.
+ *   It replaces the generic MathDiv after an evaluation in which every operand was a
+ *   number, and reverts to it if an operand ever is not.
+ *   @version 10/18/26
+ */
+public class MathDivNumber extends MathDiv {
+    public MathDivNumber(Token op, Expression[] args) {
+        super(op, args);
+    }
+
+    /**
+     * Evaluates the current division expression, assuming number operands.
+     *   @return the first operand divided by the rest
+     */
+    public DataValue evaluate(MemorySpace mem) throws Exception {
+        double returnVal = this.evaluateNumberGuarded(mem, 0);
+        for (int i = 1; i < this.args.length; i++) {
+            returnVal /= this.evaluateNumberGuarded(mem, i);
+        }
+        return NumberValue.of(returnVal);
+    }
+}
@@ -0,0 +1,23 @@
+/**
+ * Derived class that represents a multiplication expression specialized for number operands.
+ *   It replaces the generic MathMul after an evaluation in which every operand was a
+ *   number, and reverts to it if an operand ever is not.
+ *   @version 10/18/26
+ */
+public class MathMulNumber extends MathMul {
+    public MathMulNumber(Token op, Expression[] args) {
+        super(op, args);
+    }
+
+    /**
+     * Evaluates the current multiplication expression, assuming number operands.
+     *   @return the product of the operands
+     */
+    public DataValue evaluate(MemorySpace mem) throws Exception {
+        double returnVal = this.evaluateNumberGuarded(mem, 0);
+        for (int i = 1; i < this.args.length; i++) {
+            returnVal *= this.evaluateNumberGuarded(mem, i);
+        }
+        return NumberValue.of(returnVal);
+    }
+}
@@ -0,0 +1,128 @@
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Class that caches the results of a pure function, keyed by its arguments.
+ *   Arguments are compared structurally (lists and strings by their items), and
+ *   entries are evicted least-recently-used first once their total weight (about
+ *   one unit per value stored, counting the items of lists and strings) exceeds
+ *   the capacity, set with -Dsilly.memo.capacity=N (default 100000).
+ *   @version 10/18/26
+ */
+public class MemoCache {
+    public static final long CAPACITY = Long.getLong("silly.memo.capacity", 100000);
+
+    private LinkedHashMap<MemoCache.Key, DataValue> entries;
+    private long weight;
+    private long hits;
+    private long misses;
+
+    /**
+     * Class that represents the arguments of a call, as a cache key.
+     */
+    public static class Key {
+        private final DataValue[] args;
+        private final int hash;
+        private final long weight;
+
+        private Key(DataValue[] args) {
+            this.args = args;
+            int h = 1;
+            long w = 0;
+            for (DataValue v : args) {
+                h = 31 * h + v.hashCode();
+                w += MemoCache.weight(v);
+            }
+            this.hash = h;
+            this.weight = w;
+        }
+
+        public int hashCode() {
+            return this.hash;
+        }
+
+        public boolean equals(Object other) {
+            if (!(other instanceof MemoCache.Key)) {
+                return false;
+            }
+            MemoCache.Key that = (MemoCache.Key) other;
+            if (this.hash != that.hash || this.args.length != that.args.length) {
+                return false;
+            }
+            for (int i = 0; i < this.args.length; i++) {
+                if (!this.args[i].equals(that.args[i])) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    public MemoCache() {
+        this.entries = new LinkedHashMap<MemoCache.Key, DataValue>(16, 0.75f, true);
+    }
+
+    /**
+     * Builds the key for a call.
+     *   @param frame the frame holding the arguments (in its first slots)
+     *   @param count the number of arguments
+     *   @return the key (holding a copy of the arguments)
+     */
+    public MemoCache.Key keyFor(DataValue[] frame, int count) {
+        return new MemoCache.Key(Arrays.copyOf(frame, count));
+    }
+
+    /**
+     * Looks up the result of an earlier call with the same arguments.
+     *   @param key the arguments
+     *   @return the cached result, or null if there is none
+     */
+    public DataValue lookup(MemoCache.Key key) {
+        DataValue result = this.entries.get(key);
+        if (result != null) {
+            this.hits++;
+        } else {
+            this.misses++;
+        }
+        return result;
+    }
+
+    /**
+     * Records the result of a call, evicting the least recently used entries if the
+     * cache is over capacity.
+     *   @param key the arguments
+     *   @param result the result of the call
+     */
+    public void store(MemoCache.Key key, DataValue result) {
+        long entryWeight = key.weight + MemoCache.weight(result);
+        if (entryWeight > CAPACITY || this.entries.containsKey(key)) {
+            return;
+        }
+        this.entries.put(key, result);
+        this.weight += entryWeight;
+        Iterator<Map.Entry<MemoCache.Key, DataValue>> eldest = this.entries.entrySet().iterator();
+        while (this.weight > CAPACITY) {
+            Map.Entry<MemoCache.Key, DataValue> entry = eldest.next();
+            this.weight -= entry.getKey().weight + MemoCache.weight(entry.getValue());
+            eldest.remove();
+        }
+    }
+
+    public long getHits() {
+        return this.hits;
+    }
+
+    public long getMisses() {
+        return this.misses;
+    }
+
+    public int size() {
+        return this.entries.size();
+    }
+
+    private static long weight(DataValue val) {
+        return (val instanceof ListValue ? 1 + ((ListValue) val).size() : 1);
+    }
+}
@@ -0,0 +1,43 @@
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Class for an output sink that keeps the output in memory (e.g., to capture
+ *   the output of a program run by another program).
+ *   @version 10/18/26
+ */
+public class MemorySink extends OutputSink {
+    private byte[] captured;
+    private int length;
+
+    public MemorySink() {
+        super(OutputSink.DEFAULT_SIZE, OutputSink.Flush.FULL);
+        this.captured = new byte[0];
+    }
+
+    protected void drain(byte[] bytes, int count) {
+        if (this.length + count > this.captured.length) {
+            this.captured = Arrays.copyOf(this.captured, Math.max(2 * this.captured.length, this.length + count));
+        }
+        System.arraycopy(bytes, 0, this.captured, this.length, count);
+        this.length += count;
+    }
+
+    /**
+     * Accesses the output so far.
+     *   @return the output (as UTF-8 bytes)
+     */
+    public byte[] toByteArray() {
+        this.flush();
+        return Arrays.copyOf(this.captured, this.length);
+    }
+
+    /**
+     * Accesses the output so far.
+     *   @return the output
+     */
+    public String toString() {
+        this.flush();
+        return new String(this.captured, 0, this.length, StandardCharsets.UTF_8);
+    }
+}
@@ -1,100 +1,226 @@
-import java.util.Stack;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
 
 /**
  * Class that defines the memory space for the SILLY interpreter.
+ *   Variables live in frames (plain arrays) and are accessed by the lexical
+ *   address (depth, slot) assigned by the Resolver: depth 0 is the current
+ *   frame and depth 1 is the global frame.  Frames of finished calls are kept
+ *   for reuse (a memory space is used by one thread at a time).  Each run of a
+ *   program has its own memory space, which also holds the run's output sink
+ *   and the results cached for its memoized functions.
  *   Updated to support function declarations.
  *   @author Dave Reed
  *   @version 1/20/25
  */
 public class MemorySpace {
-    private Stack<ScopeRec> runtimeStack;
+    private static final int MAX_SPARE_FRAMES = 256;
+
+    private DataValue[] globals;
+    private DataValue[] frame;
     private HashMap<String, FunctionDecl> functionTable; 
+    private DataValue[][] spareFrames;
+    private int spareCount;
+    private TailCall tailCall;
+    private OutputSink out;
+    private IdentityHashMap<FunctionDecl, MemoCache> memoCaches;
+    private Profiler profiler;
+    private Budget budget;
+    private boolean worker;
+    private Object runToken;
 
     /**
-     * Constructs a memory space with a single (global) scope record.
+     * Constructs a memory space with empty global and top-level frames, printing
+     * to System.out.
      */
     public MemorySpace() {
-        this.runtimeStack = new Stack<>();
-        this.runtimeStack.push(new ScopeRec(null));
+        this(new StreamSink());
+    }
+
+    /**
+     * Constructs a memory space with empty global and top-level frames.
+     * @param out the sink that print statements write to
+     */
+    public MemorySpace(OutputSink out) {
+        this.out = out;
+        this.globals = new DataValue[0];
+        this.frame = new DataValue[0];
         this.functionTable = new HashMap<>(); // Initialize function storage
+        this.runToken = new Object();
+        this.spareFrames = new DataValue[MemorySpace.MAX_SPARE_FRAMES][];
+        this.tailCall = new TailCall();
     }
-    
+
     /**
-     * Adds a new scope to the top of the runtime stack (linked to previous top).
+     * Constructs a memory space for a worker thread that calls (pure) functions on
+     * behalf of this one: it shares the function table and output sink, but has
+     * frames of its own (and draws on the same budget).  Worker threads share the
+     * syntax trees, so code running in a worker's memory space never rewrites
+     * them (see isWorker).
+     * @return the worker's memory space
      */
-    public void beginNestedScope() {
-        this.runtimeStack.push(new ScopeRec(this.runtimeStack.peek()));
+    public MemorySpace forWorker() {
+        MemorySpace space = new MemorySpace(this.out);
+        space.functionTable = this.functionTable;
+        space.runToken = this.runToken;
+        space.budget = (this.budget != null ? this.budget.forWorker() : null);
+        space.worker = true;
+        return space;
     }
-    
+
     /**
-     * Removes the current scope from the top of the runtime stack.
+     * Determines whether this is a worker's memory space.  While running in one,
+     * nodes do not specialize (or deoptimize) themselves, calls do not cache their
+     * targets, and nothing counts towards JIT compilation; compiled code that
+     * already exists is still used.
+     * @return true for a worker's memory space
      */
-    public void endCurrentScope() {
-        if (this.runtimeStack.size() > 1) {
-            this.runtimeStack.pop();
+    public boolean isWorker() {
+        return this.worker;
+    }
+
+    /**
+     * Prepares memory for executing a top-level statement: the global frame is
+     * grown to hold every global assigned so far, and the top-level frame is cleared.
+     * @param globalCount the number of global slots
+     * @param frameSize the number of slots needed by top-level blocks
+     */
+    public void reserve(int globalCount, int frameSize) {
+        if (this.globals.length < globalCount) {
+            this.globals = Arrays.copyOf(this.globals, globalCount);
         }
+        this.frame = new DataValue[frameSize];
+    }
+
+    /**
+     * Makes the specified frame the current frame (e.g., on a function call).
+     * @param newFrame the frame to switch to
+     * @return the previous frame (to be restored by exitFrame)
+     */
+    public DataValue[] enterFrame(DataValue[] newFrame) {
+        DataValue[] saved = this.frame;
+        this.frame = newFrame;
+        return saved;
     }
-    
-    
 
     /**
-     * Declares a variable (without storing an actual value).
-     * @param variable the variable to be declared
+     * Restores a previous frame as the current frame.
+     * @param saved the frame returned by enterFrame
      */
-    public void declareVariable(Token variable) {
-        this.runtimeStack.peek().storeInScope(variable, null);
+    public void exitFrame(DataValue[] saved) {
+        this.frame = saved;
     }
-    
+
+    public OutputSink getOutput() {
+        return this.out;
+    }
+
     /**
-     * Determines if a variable is already declared.
-     * @param variable the variable to be found
-     * @return true if it is declared and/or assigned; else, false
+     * Accesses the profiler of the run.
+     * @return the profiler, or null if the run is not being profiled
      */
-    public boolean isDeclared(Token variable) {
-        return (this.findScopeinStack(variable) != null);
+    public Profiler getProfiler() {
+        return this.profiler;
+    }
+
+    public void setProfiler(Profiler profiler) {
+        this.profiler = profiler;
     }
-    
+
     /**
-     * Stores a variable/value in the runtime stack.
-     * @param variable the variable name
-     * @param val the value to be stored under that name
+     * Accesses the budget (resource limits) of the run.
+     * @return the budget, or null if the run is not limited
      */
-    public void storeValue(Token variable, DataValue val) {
-        ScopeRec top = this.runtimeStack.peek();
-    
-        if (top.declaredInScope(variable)) {
-            top.storeInScope(variable, val);  
+    public Budget getBudget() {
+        return this.budget;
+    }
+
+    public void setBudget(Budget budget) {
+        this.budget = budget;
+    }
+
+    /**
+     * Accesses the (single, reused) signal for a call in tail position.
+     * @return the tail call signal
+     */
+    public TailCall getTailCall() {
+        return this.tailCall;
+    }
+
+    /**
+     * Obtains an empty frame for a function call, reusing one released by an earlier
+     * call if possible.  Calls nest, so the most recently released frame is tried.
+     * @param size the number of slots needed
+     * @return a frame with at least size (null) slots
+     */
+    public DataValue[] acquireFrame(int size) {
+        if (this.spareCount > 0 && this.spareFrames[this.spareCount - 1].length >= size) {
+            return this.spareFrames[--this.spareCount];
+        }
+        return new DataValue[size];
+    }
+
+    /**
+     * Returns a frame that is no longer in use, to be reused by a later call.
+     * @param oldFrame the frame (from acquireFrame)
+     * @param size the number of slots that may have been used
+     */
+    public void releaseFrame(DataValue[] oldFrame, int size) {
+        Arrays.fill(oldFrame, 0, size, null);
+        if (this.spareCount < this.spareFrames.length) {
+            this.spareFrames[this.spareCount++] = oldFrame;
+        }
+    }
+
+    /**
+     * Clears a range of slots in the current frame (at the end of a block).
+     * @param from the first slot to clear
+     * @param to one past the last slot to clear
+     */
+    public void clearFrame(int from, int to) {
+        for (int i = from; i < to; i++) {
+            this.frame[i] = null;
+        }
+    }
+
+    /**
+     * Stores a value at the specified address.
+     * @param depth the frame depth (Resolver.LOCAL or Resolver.GLOBAL)
+     * @param slot the slot within that frame
+     * @param val the value to be stored
+     */
+    public void storeValue(int depth, int slot, DataValue val) {
+        if (depth == Resolver.LOCAL) {
+            this.frame[slot] = val;
         } else {
-            top.storeInScope(variable, val);  
+            this.globals[slot] = val;
         }
     }
-    
-    
-    
 
     /**
-     * Determines the value associated with a variable in memory.
-     * @param variable the variable to look up
-     * @return the value associated with that variable
+     * Determines the value stored at the specified address.
+     * @param depth the frame depth (Resolver.LOCAL or Resolver.GLOBAL)
+     * @param slot the slot within that frame
+     * @return the value stored there (null if the variable is not declared)
      */      
-    public DataValue lookupValue(Token variable) {
-        ScopeRec scope = this.findScopeinStack(variable);
-        if (scope == null) {
-            throw new RuntimeException("RUNTIME ERROR: Variable '" + variable + "' not declared.");
+    public DataValue lookupValue(int depth, int slot) {
+        if (depth == Resolver.LOCAL) {
+            return this.frame[slot];
         }
-        return scope.lookupInScope(variable);
+        return this.globals[slot];
     }
-    
 
     /**
      * Declares a function and stores it in the function table.
      * @param name the function name
      * @param function the function declaration
-     * @throws Exception if a function or variable with the same name already exists
+     * @throws Exception if a function with the same name already exists
      */
     public void declareFunction(String name, FunctionDecl function) throws Exception {
-        if (functionTable.containsKey(name) || isDeclared(new Token(name))) {
+        if (functionTable.containsKey(name)) {
             throw new Exception("RUNTIME ERROR: Function or variable '" + name + "' already exists.");
         }
         functionTable.put(name, function);
@@ -109,6 +235,16 @@ public class MemorySpace {
         functionTable.put(name, function);
     }
 
+    /**
+     * Accesses the token that identifies the run (shared with its workers' memory
+     * spaces).  A node may keep it to recognize the run it cached something for:
+     * unlike the memory space itself, it does not keep the run's values reachable.
+     * @return the run's token
+     */
+    public Object getRunToken() {
+        return this.runToken;
+    }
+
     /**
      * Retrieves a function declaration from memory.
      * @param name the function name
@@ -119,23 +255,32 @@ public class MemorySpace {
     }
 
     /**
-     * Locates the Scope in the stackSegment that contains the specified variable.
-     * @param variable the variable being searched for
-     * @return the Scope containing that variable
+     * Accesses the cache of results for a memoized function in this run (creating
+     * it on first use).
+     * @param function the function
+     * @return the cache
      */
-    private ScopeRec findScopeinStack(Token variable) {
-        ScopeRec stepper = this.runtimeStack.peek();
-        while (stepper != null && !stepper.declaredInScope(variable)) {
-            stepper = stepper.getParentScope();
+    public MemoCache getMemoCache(FunctionDecl function) {
+        if (memoCaches == null) {
+            memoCaches = new IdentityHashMap<>();
+        }
+        MemoCache cache = memoCaches.get(function);
+        if (cache == null) {
+            cache = new MemoCache();
+            memoCaches.put(function, cache);
         }
-        return stepper;
+        return cache;
     }
-    public ScopeRec getCurrentScope() {
-        return this.runtimeStack.peek();
+
+    /**
+     * Accesses the caches of the memoized functions called in this run (e.g., to
+     * read their hit and miss counts).
+     * @return the caches, by function (read-only)
+     */
+    public Map<FunctionDecl, MemoCache> getMemoCaches() {
+        if (memoCaches == null) {
+            return Collections.emptyMap();
+        }
+        return Collections.unmodifiableMap(memoCaches);
     }
-    
 }
-
-
-
-
@@ -1,24 +1,55 @@
 /**
- * Class that represents a number value.
+ * Class that represents a number value.  The number is stored as a primitive
+ *   double; values are created through NumberValue.of, which returns a shared
+ *   instance for small whole numbers so that counters and indexes do not allocate.
  *   @author Dave Reed
  *   @version 1/20/25
  */
 public class NumberValue implements DataValue {
-    protected Double value;
+    private static final int CACHE_LOW = -128;
+    private static final int CACHE_HIGH = 1024;
+    private static final NumberValue[] CACHE = new NumberValue[CACHE_HIGH - CACHE_LOW + 1];
+    private static final double EXACT_LIMIT = 9007199254740992.0;
+    static {
+        for (int i = 0; i < CACHE.length; i++) {
+            CACHE[i] = new NumberValue(CACHE_LOW + i);
+        }
+    }
+
+    protected final double value;
 
     /**
-     * Constructs a default number value (0).
+     * Constructs a number value.
+     *   @param num the number being stored
      */
-    public NumberValue() {
-        this(0);
+    private NumberValue(double num) {
+        this.value = num;
     }
-    
+
     /**
-     * Constructs a number value.
-     *   @param num the number being stored
+     * Accesses a number value.
+     *   @param num the number
+     *   @return a number value storing num (shared, if num is a small whole number)
      */
-    public NumberValue(double num) {
-        this.value = (Double) num;
+    public static NumberValue of(double num) {
+        long whole = (long) num;
+        if (whole == num && whole >= CACHE_LOW && whole <= CACHE_HIGH
+                && (whole != 0 || Double.doubleToRawLongBits(num) == 0L)) {
+            return CACHE[(int) whole - CACHE_LOW];
+        }
+        return new NumberValue(num);
+    }
+
+    /**
+     * Accesses a number value for a whole number.
+     *   @param num the number
+     *   @return a number value storing num (shared, if num is small)
+     */
+    public static NumberValue of(long num) {
+        if (num >= CACHE_LOW && num <= CACHE_HIGH) {
+            return CACHE[(int) num - CACHE_LOW];
+        }
+        return new NumberValue(num);
     }
 
     /**
@@ -26,6 +57,14 @@ public class NumberValue implements DataValue {
      *   @return the number value (as an Object)
      */
     public Object getValue() {
+        return (Double) this.value;
+    }
+
+    /**
+     * Accesses the stored number without boxing.
+     *   @return the number value
+     */
+    public double doubleValue() {
         return this.value;
     }
 
@@ -37,23 +76,58 @@ public class NumberValue implements DataValue {
         return DataValue.Type.NUMBER;
     }
 
+    /**
+     * Determines whether the number prints as a whole number: it has no fraction
+     * and is at most 2^53 in size, so every whole number up to it is exact (larger
+     * ones print in scientific notation).
+     *   @return true if it prints without a decimal point; else, false
+     */
+    private boolean isWhole() {
+        return this.value == Math.round(this.value) && Math.abs(this.value) <= NumberValue.EXACT_LIMIT;
+    }
+
     /**
      * Converts a number value to a String.
      *   @return a String representation of a number value
      */
     public String toString() {
-    	if (this.value == Math.round(this.value)) {
-    		return "" + (int)(this.value.doubleValue());
-    	}
+        if (this.isWhole()) {
+            return "" + (long) this.value;
+        }
         return "" + this.value;
     }
 
+    /**
+     * Writes the number to an output sink (without building a String for a whole number).
+     *   @param out the sink
+     */
+    public void writeTo(OutputSink out) {
+        if (this.isWhole()) {
+            out.write((long) this.value);
+        } else {
+            out.write(Double.toString(this.value));
+        }
+    }
+
     /**
      * Comparison method for NumberValues.
      *   @param other the value being compared with
      *   @return negative if <, 0 if ==, positive if >
      */
     public int compareTo(DataValue other) {
-         return ((Double)this.getValue()).compareTo((Double)other.getValue());
+        return Double.compare(this.value, ((NumberValue) other).value);
+    }
+
+    /**
+     * Determines whether another value is the same number (as compareTo does).
+     *   @param other the value being compared with
+     *   @return true if it is a NumberValue storing the same number
+     */
+    public boolean equals(Object other) {
+        return other instanceof NumberValue && Double.compare(this.value, ((NumberValue) other).value) == 0;
+    }
+
+    public int hashCode() {
+        return Double.hashCode(this.value);
     }
-}
\ No newline at end of file
+}
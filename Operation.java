@@ -0,0 +1,217 @@
+/**
+ * Abstract class for an expression that applies an operator (a built-in
+ * function or a declared function) to a sequence of operand expressions.
+ *   @version 10/18/26
+ */
+public abstract class Operation extends Expression implements ExpressionHolder {
+    protected Token op;
+    protected Expression[] args;
+    private Operation generic;
+    private boolean settled;
+
+    /**
+     * Constructs an operation.
+     *   @param op the operator token
+     *   @param args the operand expressions
+     */
+    public Operation(Token op, Expression[] args) {
+        this.op = op;
+        this.args = args;
+        this.adoptArgs();
+    }
+
+    private void adoptArgs() {
+        for (Expression e : this.args) {
+            e.adoptedBy(this);
+        }
+    }
+
+    /**
+     * Replaces this (generic) operation with a version specialized for the operand
+     * types just seen.  An operation specializes at most once; after a deoptimization
+     * it stays generic.  Nothing is replaced while running in a worker's memory space.
+     *   @param specialized the specialized operation (sharing this operation's operands)
+     */
+    protected void specialize(MemorySpace mem, Operation specialized) {
+        if (!this.settled && Operation.mayRewrite(mem)) {
+            this.settled = true;
+            specialized.generic = this;
+            this.replace(specialized);
+        }
+    }
+
+    /**
+     * Replaces this specialized operation with the generic one it was created from,
+     * after a guard on the operand types has failed (in a worker's memory space,
+     * the generic operation is only returned, to be evaluated in its place).
+     *   @return the generic operation
+     */
+    protected Operation deoptimize(MemorySpace mem) {
+        Operation original = this.generic;
+        if (Operation.mayRewrite(mem)) {
+            original.adoptArgs();
+            this.replace(original);
+        }
+        return original;
+    }
+
+    /**
+     * Determines whether the tree may be rewritten while evaluating in a memory
+     * space (null when constant folding): not in a worker's (see MemorySpace.isWorker).
+     */
+    private static boolean mayRewrite(MemorySpace mem) {
+        return mem == null || !mem.isWorker();
+    }
+
+    /**
+     * Evaluates an operand in a number-specialized operation.  If the operand is not
+     * a number, the operation deoptimizes and reports the same error as the generic one.
+     *   @param index the operand index
+     *   @return the number value of that operand
+     */
+    protected double evaluateNumberGuarded(MemorySpace mem, int index) throws Exception {
+        DataValue val = this.args[index].evaluate(mem);
+        if (val instanceof NumberValue) {
+            return ((NumberValue) val).doubleValue();
+        }
+        this.deoptimize(mem);
+        throw new Exception("RUNTIME ERROR: Number value expected.");
+    }
+
+    /**
+     * Replaces an operand (when it specializes itself).
+     *   @param oldChild the operand being replaced
+     *   @param newChild its replacement
+     */
+    public void replaceChild(Expression oldChild, Expression newChild) {
+        for (int i = 0; i < this.args.length; i++) {
+            if (this.args[i] == oldChild) {
+                this.args[i] = newChild;
+            }
+        }
+    }
+
+    protected Expression[] getOperands() {
+        return this.args;
+    }
+
+    /**
+     * Records the effects of the operands (a built-in function has none of its own).
+     *   @param check the analysis collecting the effects
+     */
+    public void checkPurity(PurityCheck check) {
+        for (Expression e : this.args) {
+            e.checkPurity(check);
+        }
+    }
+
+    /**
+     * Emits JVM bytecode for a math function: the operands are computed as unboxed
+     * numbers and combined with the specified instruction.
+     *   @param jit the compiler emitting the code
+     *   @param opcode the arithmetic instruction (e.g., BytecodeEmitter.DADD)
+     */
+    protected void compileArithmetic(JitCompiler jit, int opcode) {
+        if (this.args.length < 2) {
+            jit.emitEvaluate(this);
+            jit.emitToNumber();
+            return;
+        }
+        this.args[0].compileNumber(jit);
+        for (int i = 1; i < this.args.length; i++) {
+            this.args[i].compileNumber(jit);
+            jit.emitArithmetic(opcode);
+        }
+    }
+
+    /**
+     * Emits VirtualMachine instructions for a math function: each operand is
+     * checked to be a number as soon as it is computed.
+     *   @param vm the compiler emitting the instructions
+     *   @param op the instruction combining the operands (e.g., VmCompiler.ADD)
+     */
+    protected void compileArithmetic(VmCompiler vm, int op) {
+        if (this.args.length < 2) {
+            vm.emitFail("RUNTIME ERROR: Incorrect arity in math expression.");
+            return;
+        }
+        for (Expression e : this.args) {
+            e.compile(vm);
+            vm.emit(VmCompiler.CHECK_NUMBER);
+        }
+        vm.emit(op, this.args.length);
+    }
+
+    /**
+     * Emits VirtualMachine instructions for the first operand of a sequence
+     * function, which must be a list or string.
+     *   @param vm the compiler emitting the instructions
+     */
+    protected void compileSequence(VmCompiler vm) {
+        if (this.args.length == 0) {
+            vm.emitFail("RUNTIME ERROR: Incorrect arity in sequence expression.");
+            return;
+        }
+        this.args[0].compile(vm);
+        vm.emit(VmCompiler.CHECK_SEQUENCE);
+    }
+
+    /**
+     * Evaluates an operand that must be a number.
+     *   @param index the operand index
+     *   @return the numeric value of that operand
+     */
+    protected double evaluateNumber(MemorySpace mem, int index) throws Exception {
+        DataValue val = this.args[index].evaluate(mem);
+        if (val.getType() != DataValue.Type.NUMBER) {
+            throw new Exception("RUNTIME ERROR: Number value expected.");
+        }
+        return ((NumberValue) val).doubleValue();
+    }
+
+    /**
+     * Evaluates an operand that must be a Boolean.
+     *   @param index the operand index
+     *   @return the Boolean value of that operand
+     */
+    protected boolean evaluateBoolean(MemorySpace mem, int index) throws Exception {
+        DataValue val = this.args[index].evaluate(mem);
+        if (val.getType() != DataValue.Type.BOOLEAN) {
+            throw new Exception("RUNTIME ERROR: Boolean value expected.");
+        }
+        return ((BooleanValue) val).booleanValue();
+    }
+
+    /**
+     * Evaluates an operand that must be a list or string (the first operand of
+     * the sequence functions).
+     *   @param index the operand index
+     *   @return the list value of that operand
+     */
+    protected ListValue evaluateSequence(MemorySpace mem, int index) throws Exception {
+        if (this.args.length == 0) {
+            throw new Exception("RUNTIME ERROR: Incorrect arity in sequence expression.");
+        }
+        DataValue val = this.args[index].evaluate(mem);
+        if (val.getType() != DataValue.Type.LIST && val.getType() != DataValue.Type.STRING) {
+            throw new Exception("RUNTIME ERROR: List or string value expected.");
+        }
+        return (ListValue) val;
+    }
+
+    protected String getOpenText() {
+        return (this.args.length == 0 ? "(" + this.op : "(" + this.op + " ");
+    }
+
+    protected String getCloseText() {
+        return ")";
+    }
+
+    /**
+     * Converts the current operation into a String.
+     *   @return the String representation of this expression
+     */
+    public String toString() {
+        return this.describe();
+    }
+}
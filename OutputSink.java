@@ -0,0 +1,176 @@
+import java.io.IOException;
+
+/**
+ * Abstract class for the destination of a program's output.  Printed values are
+ *   written (as UTF-8) straight into a byte buffer, without building a String for
+ *   them; a subclass sends the buffered bytes on (e.g., to standard output or a file).
+ *
+ *   The buffer is sent on when it is full, when flush is called (e.g., after each
+ *   top-level statement), and, with the LINE flush policy, at the end of every line.
+ *   As with a PrintStream, a sink does not throw when writing fails; checkError
+ *   reports it.  A sink is used by one thread at a time.
+ *   @version 10/18/26
+ */
+public abstract class OutputSink {
+    public static enum Flush { LINE, FULL }
+
+    public static final int DEFAULT_SIZE = 8192;
+
+    protected byte[] buffer;
+    protected int count;
+    private OutputSink.Flush policy;
+    private boolean error;
+
+    /**
+     * Constructs a sink.
+     *   @param size the size of the buffer (in bytes)
+     *   @param policy when the buffer is sent on, besides when it is full
+     */
+    protected OutputSink(int size, OutputSink.Flush policy) {
+        this.buffer = new byte[Math.max(size, 16)];
+        this.policy = policy;
+    }
+
+    /**
+     * Sends bytes on to the destination.
+     *   @param bytes the array holding the bytes
+     *   @param length the number of bytes (from the start of the array)
+     */
+    protected abstract void drain(byte[] bytes, int length) throws IOException;
+
+    /**
+     * Prints a value, followed by a newline.
+     *   @param val the value
+     */
+    public void println(DataValue val) {
+        val.writeTo(this);
+        this.newline();
+    }
+
+    /**
+     * Prints text, followed by a newline (e.g., an error message).
+     *   @param text the text
+     */
+    public void println(String text) {
+        this.write(text);
+        this.newline();
+    }
+
+    /**
+     * Ends the current line.
+     */
+    public void newline() {
+        this.put((byte) '\n');
+        if (this.policy == OutputSink.Flush.LINE) {
+            this.flush();
+        }
+    }
+
+    /**
+     * Writes the characters of a string.
+     *   @param text the string
+     */
+    public void write(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            char ch = text.charAt(i);
+            if (ch < 0x80) {
+                this.put((byte) ch);
+            } else if (Character.isHighSurrogate(ch) && i + 1 < text.length() &&
+                       Character.isLowSurrogate(text.charAt(i + 1))) {
+                this.writeCodePoint(Character.toCodePoint(ch, text.charAt(++i)));
+            } else {
+                this.writeCodePoint(ch);
+            }
+        }
+    }
+
+    /**
+     * Writes a character.
+     *   @param ch the character
+     */
+    public void write(char ch) {
+        if (ch < 0x80) {
+            this.put((byte) ch);
+        } else {
+            this.writeCodePoint(ch);
+        }
+    }
+
+    /**
+     * Writes a whole number in decimal.
+     *   @param num the number
+     */
+    public void write(long num) {
+        if (num == Long.MIN_VALUE) {
+            this.write("-9223372036854775808");
+            return;
+        }
+        if (num < 0) {
+            this.put((byte) '-');
+            num = -num;
+        }
+        if (this.buffer.length - this.count < 19) {
+            this.flush();
+        }
+        int digits = 1;
+        for (long rest = num / 10; rest > 0; rest /= 10) {
+            digits++;
+        }
+        int pos = this.count + digits;
+        do {
+            this.buffer[--pos] = (byte) ('0' + num % 10);
+            num /= 10;
+        } while (num > 0);
+        this.count += digits;
+    }
+
+    /**
+     * Sends the buffered bytes on to the destination.
+     */
+    public void flush() {
+        if (this.count > 0) {
+            try {
+                this.drain(this.buffer, this.count);
+            } catch (IOException e) {
+                this.error = true;
+            }
+            this.count = 0;
+        }
+    }
+
+    /**
+     * Determines whether sending output has failed.
+     *   @return true if an error has occurred; else, false
+     */
+    public boolean checkError() {
+        return this.error;
+    }
+
+    private void put(byte b) {
+        if (this.count == this.buffer.length) {
+            this.flush();
+        }
+        this.buffer[this.count++] = b;
+    }
+
+    private void writeCodePoint(int cp) {
+        if (Character.isSurrogate((char) cp) && cp <= 0xFFFF) {
+            cp = '?';
+        }
+        if (cp < 0x80) {
+            this.put((byte) cp);
+        } else if (cp < 0x800) {
+            this.put((byte) (0xC0 | (cp >> 6)));
+            this.put((byte) (0x80 | (cp & 0x3F)));
+        } else if (cp < 0x10000) {
+            this.put((byte) (0xE0 | (cp >> 12)));
+            this.put((byte) (0x80 | ((cp >> 6) & 0x3F)));
+            this.put((byte) (0x80 | (cp & 0x3F)));
+        } else {
+            this.put((byte) (0xF0 | (cp >> 18)));
+            this.put((byte) (0x80 | ((cp >> 12) & 0x3F)));
+            this.put((byte) (0x80 | ((cp >> 6) & 0x3F)));
+            this.put((byte) (0x80 | (cp & 0x3F)));
+        }
+    }
+}
@@ -3,28 +3,54 @@
  *   @author Dave Reed
  *   @version 1/20/25
  */
-public class Print extends Statement {
+public class Print extends Statement implements ExpressionHolder {
 	private Expression expr;
 
     /**
-     * Reads in a print statement from the specified TokenStream.
-     *   @param input the stream to be read from
+     * Constructs a print statement (e.g., from a SyntaxArena).
+     *   @param expr the expression whose value is printed
      */
-    public Print(TokenStream input) throws Exception {
-    	if (!input.next().toString().equals("print")) {
-            throw new Exception("SYNTAX ERROR: Malformed print statement");
-        } 
-    	
-    	this.expr = new Expression(input);
+    public Print(Expression expr) {
+        this.expr = expr.adoptedBy(this);
+    }
+
+    /**
+     * Replaces the expression (when it specializes itself).
+     *   @param oldChild the expression being replaced
+     *   @param newChild its replacement
+     */
+    public void replaceChild(Expression oldChild, Expression newChild) {
+        if (this.expr == oldChild) {
+            this.expr = newChild;
+        }
+    }
+
+    /**
+     * Resolves the current print statement.
+     *   @param r the resolver for the enclosing scope
+     */
+    public void resolve(Resolver r) {
+        this.expr.resolve(r);
     }
 
     /**
      * Executes the current print statement.
      */
-    public void execute() throws Exception {
-	    System.out.println(this.expr.evaluate().toString());
+    public DataValue execute(MemorySpace mem) throws Exception {
+	    mem.getOutput().println(this.expr.evaluate(mem));
+	    return null;
     }
     
+    public void compile(JitCompiler jit) {
+        this.expr.compile(jit);
+        jit.emitPrint();
+    }
+
+    public void compile(VmCompiler vm) {
+        this.expr.compile(vm);
+        vm.emit(VmCompiler.PRINT);
+    }
+
     /**
      * Converts the current print statement into a String.
      *   @return the String representation of this statement
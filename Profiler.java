@@ -0,0 +1,319 @@
+import java.io.IOException;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Class that profiles a run of a program: for each function, statement and loop it
+ *   records how many times it ran, its total time and its self time (not counting
+ *   the statements, or the functions, it ran in turn), and the bytes allocated
+ *   in its self time.  Recursive calls are counted once in the total.  Loops also
+ *   count their iterations.
+ *
+ *   A profiler is attached to a run's MemorySpace; when none is attached, each hook
+ *   costs one field check.  While profiling, statements are run by walking the
+ *   syntax tree (neither the VirtualMachine nor the JIT compiler is used), so
+ *   every statement is seen.  The report lists the top hot spots by self time,
+ *   and the collapsed stacks (one line per SILLY call stack with its self time in
+ *   microseconds, e.g., "main;fib;fib 1200") can be read by flame graph tools.
+ *   @version 10/18/26
+ */
+public class Profiler {
+    public static final int FUNCTION = 0, STATEMENT = 1, LOOP = 2;
+
+    private static final com.sun.management.ThreadMXBean THREADS = Profiler.threads();
+
+    private IdentityHashMap<FunctionDecl, Profiler.Site> functions;
+    private IdentityHashMap<Statement, Profiler.Site> statements;
+    private Profiler.Site main;
+    private Profiler.Track calls;
+    private Profiler.Track stmts;
+    private Profiler.StackNode root;
+
+    /**
+     * Class that holds the counts and times of one function, statement or loop.
+     */
+    private static class Site {
+        private final int kind;
+        private final String label;
+        private long count;
+        private long iterations;
+        private long totalNanos;
+        private long selfNanos;
+        private long selfBytes;
+        private int active;
+
+        private Site(int kind, String label) {
+            this.kind = kind;
+            this.label = label;
+        }
+    }
+
+    /**
+     * Class that represents a node of the call tree (a SILLY call stack), holding
+     * the self time spent with that stack.
+     */
+    private static class StackNode {
+        private final String name;
+        private final StackNode parent;
+        private HashMap<String, StackNode> children;
+        private long selfNanos;
+
+        private StackNode(String name, StackNode parent) {
+            this.name = name;
+            this.parent = parent;
+        }
+
+        private StackNode child(String childName) {
+            if (this.children == null) {
+                this.children = new HashMap<String, StackNode>();
+            }
+            StackNode node = this.children.get(childName);
+            if (node == null) {
+                node = new StackNode(childName, this);
+                this.children.put(childName, node);
+            }
+            return node;
+        }
+    }
+
+    /**
+     * Class for a stack of active sites (of functions, or of statements), which
+     * separates each site's self time from the time of the sites it ran.
+     */
+    private static class Track {
+        private Profiler.Site[] sites = new Profiler.Site[64];
+        private StackNode[] nodes = new StackNode[64];
+        private long[] starts = new long[64];
+        private long[] startBytes = new long[64];
+        private long[] childNanos = new long[64];
+        private long[] childBytes = new long[64];
+        private int depth;
+
+        private void enter(Profiler.Site site, StackNode node) {
+            if (this.depth == this.sites.length) {
+                int size = 2 * this.depth;
+                this.sites = Arrays.copyOf(this.sites, size);
+                this.nodes = Arrays.copyOf(this.nodes, size);
+                this.starts = Arrays.copyOf(this.starts, size);
+                this.startBytes = Arrays.copyOf(this.startBytes, size);
+                this.childNanos = Arrays.copyOf(this.childNanos, size);
+                this.childBytes = Arrays.copyOf(this.childBytes, size);
+            }
+            site.count++;
+            site.active++;
+            this.sites[this.depth] = site;
+            this.nodes[this.depth] = node;
+            this.childNanos[this.depth] = 0;
+            this.childBytes[this.depth] = 0;
+            this.startBytes[this.depth] = Profiler.allocatedBytes();
+            this.starts[this.depth] = System.nanoTime();
+            this.depth++;
+        }
+
+        private void exit() {
+            long elapsed = System.nanoTime() - this.starts[--this.depth];
+            long bytes = Profiler.allocatedBytes() - this.startBytes[this.depth];
+            Profiler.Site site = this.sites[this.depth];
+            long self = elapsed - this.childNanos[this.depth];
+            site.selfNanos += self;
+            site.selfBytes += bytes - this.childBytes[this.depth];
+            if (--site.active == 0) {
+                site.totalNanos += elapsed;
+            }
+            if (this.nodes[this.depth] != null) {
+                this.nodes[this.depth].selfNanos += self;
+            }
+            this.sites[this.depth] = null;
+            if (this.depth > 0) {
+                this.childNanos[this.depth - 1] += elapsed;
+                this.childBytes[this.depth - 1] += bytes;
+            }
+        }
+
+        private Profiler.Site top() {
+            return (this.depth > 0 ? this.sites[this.depth - 1] : null);
+        }
+
+        private StackNode topNode() {
+            return (this.depth > 0 ? this.nodes[this.depth - 1] : null);
+        }
+    }
+
+    public Profiler() {
+        this.functions = new IdentityHashMap<FunctionDecl, Profiler.Site>();
+        this.statements = new IdentityHashMap<Statement, Profiler.Site>();
+        this.main = new Profiler.Site(FUNCTION, "(top level)");
+        this.calls = new Profiler.Track();
+        this.stmts = new Profiler.Track();
+        this.root = new StackNode("main", null);
+    }
+
+    /**
+     * Runs a top-level statement, profiling it (as part of the top level).
+     *   @param stmt the statement
+     *   @return the value returned by the statement
+     */
+    public DataValue executeTopLevel(Statement stmt, MemorySpace mem) throws Exception {
+        this.calls.enter(this.main, this.root);
+        try {
+            return this.execute(stmt, mem);
+        } finally {
+            this.calls.exit();
+        }
+    }
+
+    /**
+     * Runs a statement, profiling it.
+     *   @param stmt the statement
+     *   @return the value returned by the statement
+     */
+    public DataValue execute(Statement stmt, MemorySpace mem) throws Exception {
+        Profiler.Site site = this.statements.get(stmt);
+        if (site == null) {
+            int kind = (stmt instanceof While || stmt instanceof Repeat ? LOOP : STATEMENT);
+            Profiler.Site function = this.calls.top();
+            String owner = (function == null || function == this.main ? "" : function.label + ": ");
+            site = new Profiler.Site(kind, owner + Profiler.label(stmt));
+            this.statements.put(stmt, site);
+        }
+        this.stmts.enter(site, null);
+        try {
+            return stmt.execute(mem);
+        } finally {
+            this.stmts.exit();
+        }
+    }
+
+    /**
+     * Records the start of a function call.
+     *   @param function the function called
+     */
+    public void enter(FunctionDecl function) {
+        Profiler.Site site = this.functions.get(function);
+        if (site == null) {
+            site = new Profiler.Site(FUNCTION, function.getName());
+            this.functions.put(function, site);
+        }
+        StackNode caller = this.calls.topNode();
+        this.calls.enter(site, (caller != null ? caller : this.root).child(function.getName()));
+    }
+
+    /**
+     * Records the end of the current function call.
+     */
+    public void exit() {
+        this.calls.exit();
+    }
+
+    /**
+     * Records an iteration of the loop currently running.
+     */
+    public void iterate() {
+        Profiler.Site site = this.stmts.top();
+        if (site != null) {
+            site.iterations++;
+        }
+    }
+
+    /**
+     * Prints the hot spots: the functions, and the statements and loops, that
+     * took the most self time; then the hit rates of the memoized functions.
+     *   @param out the stream to print to
+     *   @param top the number of entries in each list
+     *   @param memoCaches the caches of the memoized functions, by name (see RunContext)
+     */
+    public void report(PrintStream out, int top, Map<String, MemoCache> memoCaches) {
+        List<Profiler.Site> functions = new ArrayList<Profiler.Site>(this.functions.values());
+        List<Profiler.Site> statements = new ArrayList<Profiler.Site>(this.statements.values());
+        functions.add(this.main);
+        out.println("Functions           calls     total ms      self ms      self KB");
+        for (Profiler.Site site : Profiler.hottest(functions, top)) {
+            out.println(String.format(Locale.ROOT, "  %-14s %8d %12.3f %12.3f %12d", Profiler.cut(site.label, 14),
+                                      site.count, site.totalNanos / 1e6, site.selfNanos / 1e6, site.selfBytes / 1024));
+        }
+        out.println("Statements and loops                         count   iterations     total ms      self ms      self KB");
+        for (Profiler.Site site : Profiler.hottest(statements, top)) {
+            String iterations = (site.kind == LOOP ? Long.toString(site.iterations) : "");
+            out.println(String.format(Locale.ROOT, "  %-40s %8d %12s %12.3f %12.3f %12d", Profiler.cut(site.label, 40),
+                                      site.count, iterations, site.totalNanos / 1e6, site.selfNanos / 1e6,
+                                      site.selfBytes / 1024));
+        }
+        if (!memoCaches.isEmpty()) {
+            out.println("Memoized functions     hits   misses    hit %  entries");
+            for (Map.Entry<String, MemoCache> entry : memoCaches.entrySet()) {
+                MemoCache cache = entry.getValue();
+                long calls = cache.getHits() + cache.getMisses();
+                out.println(String.format(Locale.ROOT, "  %-14s %8d %8d %8.1f %8d", Profiler.cut(entry.getKey(), 14),
+                                          cache.getHits(), cache.getMisses(),
+                                          (calls > 0 ? 100.0 * cache.getHits() / calls : 0.0), cache.size()));
+            }
+        }
+    }
+
+    /**
+     * Writes the collapsed stacks (for flame graph tools) to a file.
+     *   @param file the file
+     */
+    public void writeCollapsed(Path file) throws IOException {
+        StringBuilder sb = new StringBuilder();
+        ArrayList<StackNode> pending = new ArrayList<StackNode>();
+        pending.add(this.root);
+        while (!pending.isEmpty()) {
+            StackNode node = pending.remove(pending.size() - 1);
+            long micros = node.selfNanos / 1000;
+            if (micros > 0) {
+                StringBuilder path = new StringBuilder(node.name);
+                for (StackNode n = node.parent; n != null; n = n.parent) {
+                    path.insert(0, ';').insert(0, n.name);
+                }
+                sb.append(path).append(' ').append(micros).append('\n');
+            }
+            if (node.children != null) {
+                pending.addAll(node.children.values());
+            }
+        }
+        Files.write(file, sb.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static List<Profiler.Site> hottest(List<Profiler.Site> sites, int top) {
+        sites.sort((a, b) -> Long.compare(b.selfNanos, a.selfNanos));
+        return sites.subList(0, Math.min(top, sites.size()));
+    }
+
+    /**
+     * Labels a statement by the start of its text (e.g., "while (< i n) {").
+     */
+    private static String label(Statement stmt) {
+        String text = stmt.toString().strip();
+        int newline = text.indexOf('\n');
+        return (newline >= 0 ? text.substring(0, newline) : text);
+    }
+
+    private static String cut(String text, int width) {
+        return (text.length() <= width ? text : text.substring(0, width - 3) + "...");
+    }
+
+    private static com.sun.management.ThreadMXBean threads() {
+        try {
+            com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+            return (threads.isThreadAllocatedMemorySupported() ? threads : null);
+        } catch (ClassCastException e) {
+            return null;
+        }
+    }
+
+    private static long allocatedBytes() {
+        return (Profiler.THREADS != null ? Profiler.THREADS.getCurrentThreadAllocatedBytes() : 0);
+    }
+}
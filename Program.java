@@ -0,0 +1,159 @@
+import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Class that represents a compiled SILLY program: its top-level statements,
+ *   resolved (and, for the VirtualMachine, compiled) once, so the program can be
+ *   run any number of times.  A Program holds no runtime state; each run is given
+ *   a RunContext with its own memory space and output.  Its syntax trees specialize
+ *   themselves as they run, so a Program is run by one thread at a time: adding to
+ *   or running a Program that another thread is running throws an
+ *   IllegalStateException (compile one per thread to run the same source
+ *   concurrently, as a Session does).
+ *   @version 10/18/26
+ */
+public class Program {
+    private boolean useVm;
+    private Resolver resolver;
+    private ArrayList<Statement> stmts;
+    private ArrayList<VmCode> code;
+    private ArrayList<int[]> sizes;
+    private AtomicReference<Thread> runner;
+
+    /**
+     * Constructs an empty program.
+     *   @param useVm true if statements are run on the VirtualMachine; false to
+     *          walk their syntax trees
+     */
+    public Program(boolean useVm) {
+        this.useVm = useVm;
+        this.resolver = new Resolver();
+        this.stmts = new ArrayList<Statement>();
+        this.code = new ArrayList<VmCode>();
+        this.sizes = new ArrayList<int[]>();
+        this.runner = new AtomicReference<Thread>();
+    }
+
+    /**
+     * Adds a top-level statement to the end of the program.  A statement whose
+     * blocks are nested too deeply to resolve is reported as a syntax error (and
+     * not added).
+     *   @param stmt the statement
+     *   @return the index of the statement
+     */
+    public int add(Statement stmt) throws Exception {
+        this.acquire();
+        try {
+            try {
+                stmt.resolve(this.resolver);
+            } catch (StackOverflowError e) {
+                this.resolver.reset();
+                throw new Exception("SYNTAX ERROR: Statement nested too deeply.");
+            }
+            this.stmts.add(stmt);
+            this.code.add(this.useVm ? VmCompiler.compile(stmt) : null);
+            this.sizes.add(new int[] { this.resolver.getGlobalCount(), this.resolver.getFrameSize() });
+            return this.stmts.size() - 1;
+        } finally {
+            this.release();
+        }
+    }
+
+    public int size() {
+        return this.stmts.size();
+    }
+
+    public Statement getStatement(int index) {
+        return this.stmts.get(index);
+    }
+
+    /**
+     * Runs every statement of the program, in order (until the run exceeds its budget).
+     *   @param context the run's memory space and output
+     */
+    public void run(RunContext context) throws Exception {
+        this.acquire();
+        try {
+            for (int i = 0; i < this.stmts.size(); i++) {
+                this.executeStatement(i, context);
+            }
+        } finally {
+            this.release();
+        }
+    }
+
+    /**
+     * Runs one top-level statement.  The functions it declares are declared first;
+     * a runtime error (including a stack overflow, from expressions or calls nested
+     * too deeply) is printed to the run's output (as the interpreter does) and
+     * does not stop the program, unless the run has exceeded its budget (then the
+     * error is printed and thrown).  The budget's clock runs while the statement
+     * executes, and the output is flushed when the statement ends.
+     *   @param index the index of the statement
+     *   @param context the run's memory space and output
+     */
+    public void execute(int index, RunContext context) throws Exception {
+        this.acquire();
+        try {
+            this.executeStatement(index, context);
+        } finally {
+            this.release();
+        }
+    }
+
+    /**
+     * Claims the program for the current thread.
+     *   @throws IllegalStateException if another thread is using the program
+     */
+    private void acquire() {
+        if (!this.runner.compareAndSet(null, Thread.currentThread())) {
+            throw new IllegalStateException("Program is already in use by another thread; " +
+                                            "compile a Program for each thread.");
+        }
+    }
+
+    private void release() {
+        this.runner.set(null);
+    }
+
+    private void executeStatement(int index, RunContext context) throws Exception {
+        MemorySpace mem = context.getMemory();
+        int[] size = this.sizes.get(index);
+        mem.reserve(size[0], size[1]);
+        Statement stmt = this.stmts.get(index);
+        stmt.declareFunctions(mem);
+        Budget budget = mem.getBudget();
+        if (budget != null) {
+            budget.start();
+        }
+        try {
+            DataValue returned;
+            if (mem.getProfiler() != null) {
+                returned = mem.getProfiler().executeTopLevel(stmt, mem);
+            } else if (this.useVm) {
+                returned = VirtualMachine.run(this.code.get(index), mem);
+            } else {
+                returned = stmt.execute(mem);
+            }
+            if (returned != null) {
+                throw new Exception("RUNTIME ERROR: return statement outside of a function.");
+            }
+        }
+        catch (BudgetExceeded e) {
+            mem.getOutput().println(e.toString());
+            throw e;
+        }
+        catch (Exception e) {
+            mem.getOutput().println(e.toString());
+        }
+        catch (StackOverflowError e) {
+            mem.getOutput().println(new Exception("RUNTIME ERROR: Stack overflow.").toString());
+        }
+        finally {
+            if (budget != null) {
+                budget.stop();
+            }
+            mem.getOutput().flush();
+        }
+    }
+}
@@ -0,0 +1,375 @@
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.zip.CRC32C;
+
+/**
+ * Class that reads the statements of a program file, using a precompiled (.sillyc)
+ *   copy of its syntax trees when one exists for the same source.
+ *
+ *   The first run parses the source and records the arena of each statement; once
+ *   the whole program has been read without a syntax error, the arenas are saved.
+ *   Later runs of the same source file (its absolute path) with the same SHA-256
+ *   digest rebuild each statement from the saved arena, skipping the lexer and
+ *   parser.  The file holds the path and digest, a pool of token strings, and for
+ *   each statement its nodes in order, each as its kind and the distance back to
+ *   its parent (packed in one number) followed, for the kinds that have one, by a
+ *   token index; it ends with a CRC-32C of everything before it.  The whole file
+ *   is checked when it is opened: a damaged cache is deleted and the source is
+ *   parsed (and the cache saved) again.
+ *
+ *   The cache is written next to the source (prog.txt -> prog.sillyc), or into
+ *   the directory set with -Dsilly.cache.dir=DIR (named by a hash of the source's
+ *   path).  -Dsilly.cache=false turns it off.
+ *   @version 10/18/26
+ */
+public class ProgramCache {
+    private static final boolean ENABLED = !"false".equals(System.getProperty("silly.cache"));
+    private static final String CACHE_DIR = System.getProperty("silly.cache.dir");
+    private static final int MAGIC = 0x53494C43;
+    private static final int VERSION = 2;
+    private static final int DIGEST_LENGTH = 32;
+
+    private Path cacheFile;
+    private String sourcePath;
+    private byte[] sourceDigest;
+    private SyntaxArena arena;
+    private byte[] cached;
+    private int at;
+    private Token[] pool;
+    private int remaining;
+    private ArenaParser parser;
+    private TokenStream input;
+    private HashMap<Token, Integer> poolIndex;
+    private ArrayList<Token> poolTokens;
+    private ByteArrayOutputStream recorded;
+    private DataOutputStream record;
+    private int recordedCount;
+
+    /**
+     * Opens a program file, loading its cached syntax trees if they are up to date.
+     *   @param filename the program file
+     */
+    public ProgramCache(String filename) throws IOException {
+        Path source = Paths.get(filename);
+        if (ProgramCache.ENABLED) {
+            this.sourcePath = source.toAbsolutePath().normalize().toString();
+            try (FileChannel channel = FileChannel.open(source)) {
+                MessageDigest sha = ProgramCache.sha256();
+                sha.update(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+                this.sourceDigest = sha.digest();
+            }
+            this.cacheFile = this.cacheFileFor(source);
+            this.cached = this.openCache();
+        }
+        if (this.cached != null) {
+            this.arena = new SyntaxArena();
+        } else {
+            this.input = new TokenStream(filename);
+            this.parser = new ArenaParser(this.input);
+            if (ProgramCache.ENABLED) {
+                this.poolIndex = new HashMap<Token, Integer>();
+                this.poolTokens = new ArrayList<Token>();
+                this.recorded = new ByteArrayOutputStream();
+                this.record = new DataOutputStream(this.recorded);
+            }
+        }
+    }
+
+    /**
+     * Determines whether there are any more statements to read.  When the end of
+     * the source is reached, the syntax trees read are saved to the cache.
+     *   @return true if statements remaining, else false
+     */
+    public boolean hasNext() {
+        if (this.cached != null) {
+            return this.remaining > 0;
+        }
+        if (this.input.hasNext()) {
+            return true;
+        }
+        if (this.record != null) {
+            this.save();
+            this.record = null;
+        }
+        return false;
+    }
+
+    /**
+     * Determines whether the statements are read from the cache (rather than parsed).
+     *   @return true if the cache was up to date, else false
+     */
+    public boolean isCached() {
+        return this.cached != null;
+    }
+
+    /**
+     * Reads in the next statement of the program.
+     *   @return the statement
+     */
+    public Statement getStatement() throws Exception {
+        if (this.cached != null) {
+            this.remaining--;
+            this.readArena();
+            return this.arena.build();
+        }
+        SyntaxArena parsed = this.parser.parse();
+        if (this.record != null) {
+            this.writeArena(parsed, this.record);
+            this.recordedCount++;
+        }
+        return parsed.build();
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private Path cacheFileFor(Path source) {
+        if (ProgramCache.CACHE_DIR != null) {
+            byte[] pathHash = ProgramCache.sha256().digest(this.sourcePath.getBytes(StandardCharsets.UTF_8));
+            String name = HexFormat.of().formatHex(pathHash, 0, 16) + ".sillyc";
+            return Paths.get(ProgramCache.CACHE_DIR, name);
+        }
+        String name = source.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        name = (dot > 0 ? name.substring(0, dot) : name) + ".sillyc";
+        return source.resolveSibling(name);
+    }
+
+    /**
+     * Reads the cache file, if it exists and matches the source.  A file of the
+     * current version that is damaged (its checksum or any of its statements is
+     * wrong) is deleted.
+     *   @return the contents of the file (positioned at the first statement), or null
+     */
+    private byte[] openCache() {
+        try {
+            if (!Files.isRegularFile(this.cacheFile)) {
+                return null;
+            }
+            this.cached = Files.readAllBytes(this.cacheFile);
+            this.at = 0;
+            if (this.readCount() != MAGIC || this.readCount() != VERSION) {
+                return null;
+            }
+        } catch (IOException | RuntimeException e) {
+            return null;
+        }
+        try {
+            if (!this.isIntact()) {
+                throw new IllegalStateException("checksum mismatch");
+            }
+            String path = this.readString();
+            byte[] digest = Arrays.copyOfRange(this.cached, this.at, this.at + DIGEST_LENGTH);
+            this.at += DIGEST_LENGTH;
+            if (!path.equals(this.sourcePath) || !MessageDigest.isEqual(digest, this.sourceDigest)) {
+                return null;
+            }
+            this.pool = new Token[this.readCount()];
+            for (int i = 0; i < this.pool.length; i++) {
+                this.pool[i] = Token.intern(this.readString());
+            }
+            this.remaining = this.readCount();
+            int first = this.at;
+            this.checkStatements();
+            this.at = first;
+            return this.cached;
+        } catch (RuntimeException e) {
+            try {
+                Files.deleteIfExists(this.cacheFile);
+            } catch (IOException ignored) {
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Determines whether the cache contents match the CRC-32C stored at their end.
+     */
+    private boolean isIntact() {
+        int end = this.cached.length - 4;
+        if (end < this.at) {
+            return false;
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(this.cached, 0, end);
+        int stored = (this.cached[end] & 0xFF) << 24 | (this.cached[end + 1] & 0xFF) << 16 |
+                     (this.cached[end + 2] & 0xFF) << 8 | (this.cached[end + 3] & 0xFF);
+        return stored == (int) crc.getValue();
+    }
+
+    /**
+     * Checks every statement in the cache (node kinds, parents and token indexes
+     * in range, and nothing left over), so that reading one later cannot fail.
+     *   @throws IllegalStateException if a statement is malformed
+     */
+    private void checkStatements() {
+        for (int stmt = 0; stmt < this.remaining; stmt++) {
+            int count = this.readCount();
+            if (count <= 0) {
+                throw new IllegalStateException("empty statement");
+            }
+            for (int node = 0; node < count; node++) {
+                int header = this.readCount();
+                int kind = header & 0xF;
+                int back = header >>> 4;
+                if (kind > SyntaxArena.LIST || (node == 0) != (back == 0) || back > node) {
+                    throw new IllegalStateException("malformed node");
+                }
+                if (SyntaxArena.hasToken(kind)) {
+                    int tok = this.readCount();
+                    if (tok < 0 || tok >= this.pool.length) {
+                        throw new IllegalStateException("token index out of range");
+                    }
+                }
+            }
+        }
+        if (this.at != this.cached.length - 4) {
+            throw new IllegalStateException("unexpected data after the last statement");
+        }
+    }
+
+    private void readArena() {
+        this.arena.clear();
+        int count = this.readCount();
+        for (int node = 0; node < count; node++) {
+            int header = this.readCount();
+            int kind = header & 0xF;
+            int back = header >>> 4;
+            int tok = SyntaxArena.NONE;
+            if (SyntaxArena.hasToken(kind)) {
+                tok = this.arena.addToken(this.pool[this.readCount()]);
+            }
+            this.arena.addNode(back == 0 ? SyntaxArena.NONE : node - back, kind, tok);
+        }
+    }
+
+    /**
+     * Reads a string (its length in bytes, then its UTF-8 bytes) from the cache contents.
+     */
+    private String readString() {
+        int length = this.readCount();
+        if (length < 0 || length > this.cached.length - this.at) {
+            throw new IndexOutOfBoundsException("string past the end of the cache");
+        }
+        String str = new String(this.cached, this.at, length, StandardCharsets.UTF_8);
+        this.at += length;
+        return str;
+    }
+
+    /**
+     * Reads an int written by writeCount from the cache contents.
+     */
+    private int readCount() {
+        int value = 0;
+        int shift = 0;
+        int b;
+        do {
+            b = this.cached[this.at++] & 0xFF;
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+
+    private void writeArena(SyntaxArena parsed, DataOutputStream out) throws IOException {
+        int count = parsed.size();
+        int[] parent = new int[count];
+        Arrays.fill(parent, SyntaxArena.NONE);
+        for (int node = 0; node < count; node++) {
+            for (int child = parsed.getFirstChild(node); child != SyntaxArena.NONE; child = parsed.getNextSibling(child)) {
+                parent[child] = node;
+            }
+        }
+        ProgramCache.writeCount(out, count);
+        for (int node = 0; node < count; node++) {
+            int back = (parent[node] == SyntaxArena.NONE ? 0 : node - parent[node]);
+            ProgramCache.writeCount(out, back << 4 | parsed.getKind(node));
+            if (SyntaxArena.hasToken(parsed.getKind(node))) {
+                Token tok = parsed.getToken(node);
+                Integer index = this.poolIndex.get(tok);
+                if (index == null) {
+                    index = this.poolTokens.size();
+                    this.poolIndex.put(tok, index);
+                    this.poolTokens.add(tok);
+                }
+                ProgramCache.writeCount(out, index);
+            }
+        }
+    }
+
+    /**
+     * Writes the cache file (to a temporary file first, so a concurrent run never
+     * reads a partial one).  A cache that cannot be written is simply skipped.
+     */
+    private void save() {
+        Path temp = null;
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+            ProgramCache.writeCount(out, MAGIC);
+            ProgramCache.writeCount(out, VERSION);
+            ProgramCache.writeString(out, this.sourcePath);
+            out.write(this.sourceDigest);
+            ProgramCache.writeCount(out, this.poolTokens.size());
+            for (Token tok : this.poolTokens) {
+                ProgramCache.writeString(out, tok.toString());
+            }
+            ProgramCache.writeCount(out, this.recordedCount);
+            this.recorded.writeTo(out);
+            out.flush();
+            CRC32C crc = new CRC32C();
+            crc.update(bytes.toByteArray());
+            out.writeInt((int) crc.getValue());
+            out.flush();
+
+            Path dir = this.cacheFile.toAbsolutePath().getParent();
+            Files.createDirectories(dir);
+            temp = this.cacheFile.resolveSibling(this.cacheFile.getFileName() + "." + ProcessHandle.current().pid() +
+                                              "-" + Thread.currentThread().getId() + ".tmp");
+            Files.write(temp, bytes.toByteArray());
+            Files.move(temp, this.cacheFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            try {
+                if (temp != null) {
+                    Files.deleteIfExists(temp);
+                }
+            } catch (IOException ignored) {
+            }
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String str) throws IOException {
+        byte[] text = str.getBytes(StandardCharsets.UTF_8);
+        ProgramCache.writeCount(out, text.length);
+        out.write(text);
+    }
+
+    /**
+     * Writes an int in 7-bit groups (small non-negative values take one byte).
+     */
+    private static void writeCount(DataOutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+}
@@ -0,0 +1,58 @@
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Class that collects what the statements of a function body do, to decide
+ *   whether the function is pure: a pure function only reads and assigns its own
+ *   local variables (including its parameters) and calls pure functions, so its
+ *   result depends on nothing but its arguments.
+ *   @version 10/18/26
+ */
+public class PurityCheck {
+    private MemorySpace mem;
+    private boolean sideEffects;
+    private Set<String> callees;
+
+    /**
+     * Constructs the analysis of one function body.
+     *   @param mem the memory space holding the function table
+     */
+    public PurityCheck(MemorySpace mem) {
+        this.mem = mem;
+        this.sideEffects = false;
+        this.callees = new HashSet<String>();
+    }
+
+    /**
+     * Records that the body does something a pure function may not (e.g., print).
+     */
+    public void markImpure() {
+        this.sideEffects = true;
+    }
+
+    /**
+     * Records a function called by the body (which must also be pure).
+     *   @param name the function name
+     */
+    public void addCallee(String name) {
+        this.callees.add(name);
+    }
+
+    /**
+     * Determines whether a function is declared (a call by a built-in's name runs
+     * the built-in otherwise).
+     *   @param name the function name
+     *   @return true if it is declared; else, false
+     */
+    public boolean isDeclared(String name) {
+        return this.mem.lookupFunction(name) != null;
+    }
+
+    public boolean hasSideEffects() {
+        return this.sideEffects;
+    }
+
+    public Set<String> getCallees() {
+        return this.callees;
+    }
+}
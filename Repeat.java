@@ -1,22 +1,45 @@
-public class Repeat extends Statement {
-    private final Expression repetitionCount;
+public class Repeat extends Statement implements ExpressionHolder {
+    private Expression repetitionCount;
     private final Statement action;
 
-    public Repeat(TokenStream tokens) throws Exception {
-        tokens.next();
-        repetitionCount = new Expression(tokens);
-        action = Statement.getStatement(tokens);
+    public Repeat(Expression repetitionCount, Statement action) {
+        this.repetitionCount = repetitionCount.adoptedBy(this);
+        this.action = action;
     }
 
     @Override
-    public void execute() throws Exception {
-        DataValue evalResult = repetitionCount.evaluate();
+    public void replaceChild(Expression oldChild, Expression newChild) {
+        if (repetitionCount == oldChild) {
+            repetitionCount = newChild;
+        }
+    }
+
+    @Override
+    public void resolve(Resolver r) {
+        repetitionCount.resolve(r);
+        action.resolve(r);
+    }
+
+    @Override
+    public void declareFunctions(MemorySpace mem) throws Exception {
+        action.declareFunctions(mem);
+    }
+
+    @Override
+    public void checkPurity(PurityCheck check) {
+        repetitionCount.checkPurity(check);
+        action.checkPurity(check);
+    }
+
+    @Override
+    public DataValue execute(MemorySpace mem) throws Exception {
+        DataValue evalResult = repetitionCount.evaluate(mem);
 
         if (evalResult.getType() != DataValue.Type.NUMBER) {
             throw new Exception("Runtime Error: Repeat statement requires a numeric expression.");
         }
 
-        double evaluatedValue = (Double) evalResult.getValue();
+        double evaluatedValue = ((NumberValue) evalResult).doubleValue();
 
         if (evaluatedValue != Math.floor(evaluatedValue)) {
             throw new Exception("Runtime Error: Repeat count must be an integer value.");
@@ -24,9 +47,56 @@ public class Repeat extends Statement {
 
         int repetitions = (int) evaluatedValue;
 
+        Profiler profiler = mem.getProfiler();
+        Budget budget = mem.getBudget();
         for (int i = 0; i < repetitions; i++) {
-            action.execute();
+            DataValue returned = action.execute(mem);
+            if (returned != null) {
+                return returned;
+            }
+            if (budget != null) {
+                budget.tick();
+            }
+            if (profiler != null) {
+                profiler.iterate();
+            }
         }
+        return null;
+    }
+
+    @Override
+    public void compile(JitCompiler jit) {
+        int count = jit.newLocal();
+        int index = jit.newLocal();
+        BytecodeEmitter.Label top = jit.newLabel();
+        BytecodeEmitter.Label end = jit.newLabel();
+        repetitionCount.compile(jit);
+        jit.emitRepeatCount();
+        jit.emitStoreInt(count);
+        jit.emitInt(0);
+        jit.emitStoreInt(index);
+        jit.placeLabel(top);
+        jit.emitLoadInt(index);
+        jit.emitLoadInt(count);
+        jit.emitJumpIfGreaterOrEqual(end);
+        action.compile(jit);
+        jit.emitTick();
+        jit.emitIncrement(index);
+        jit.emitJump(top);
+        jit.placeLabel(end);
+    }
+
+    @Override
+    public void compile(VmCompiler vm) {
+        int top = vm.newLabel();
+        int end = vm.newLabel();
+        repetitionCount.compile(vm);
+        vm.emit(VmCompiler.REPEAT_INIT);
+        vm.placeLabel(top);
+        vm.emitJump(VmCompiler.REPEAT_TEST, end);
+        action.compile(vm);
+        vm.emitJump(VmCompiler.JUMP, top);
+        vm.placeLabel(end);
     }
 
     @Override
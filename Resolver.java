@@ -0,0 +1,163 @@
+import java.util.HashMap;
+
+/**
+ * Class that assigns every variable in a program a lexical address (depth, slot)
+ *   before it is executed.
+ *
+ *   Depth 0 is the current frame: the body of the enclosing function, or the frame
+ *   used by blocks at the top level. Nested blocks do not get frames of their own;
+ *   their variables take the next free slots of the enclosing frame, and those slots
+ *   are released (and cleared at runtime) when the block ends.  Depth 1 is the
+ *   global frame, which holds the variables assigned at the top level of the
+ *   program, plus any other name that is not declared locally.
+ *   @version 10/18/26
+ */
+public class Resolver {
+    public static final int LOCAL = 0;
+    public static final int GLOBAL = 1;
+
+    private HashMap<Token, Integer> globals;
+    private ScopeRec scope;
+    private int nextSlot;
+    private int frameSize;
+    private boolean inFunction;
+
+    /**
+     * Constructs a resolver for the top level of a program.
+     */
+    public Resolver() {
+        this(new HashMap<Token, Integer>(), null);
+    }
+
+    /**
+     * Constructs a resolver that shares a global table.
+     *   @param globals the global variables (mapped to their slots)
+     *   @param scope the initial local scope (null at the top level)
+     */
+    private Resolver(HashMap<Token, Integer> globals, ScopeRec scope) {
+        this.globals = globals;
+        this.scope = scope;
+        this.nextSlot = 0;
+        this.frameSize = 0;
+    }
+
+    /**
+     * Creates a resolver for a function body, which has its own frame.
+     *   @return a resolver that shares this resolver's globals
+     */
+    public Resolver forFunction() {
+        Resolver inner = new Resolver(this.globals, new ScopeRec(null));
+        inner.inFunction = true;
+        return inner;
+    }
+
+    /**
+     * Determines whether resolution is inside a function body.
+     *   @return true if in a function; else, false
+     */
+    public boolean inFunction() {
+        return this.inFunction;
+    }
+
+    /**
+     * Determines whether resolution is at the top level (outside any block or function).
+     *   @return true if at the top level; else, false
+     */
+    public boolean atTopLevel() {
+        return this.scope == null;
+    }
+
+    /**
+     * Locates a variable in the local scopes of the current frame.
+     *   @param vbl the variable to look up
+     *   @return the slot of that variable, or -1 if it is not a local
+     */
+    public int lookupLocal(Token vbl) {
+        ScopeRec stepper = this.scope;
+        while (stepper != null && !stepper.declaredInScope(vbl)) {
+            stepper = stepper.getParentScope();
+        }
+        return (stepper == null ? -1 : stepper.lookupInScope(vbl));
+    }
+
+    /**
+     * Determines if a variable already has a global slot.
+     *   @param vbl the variable to check
+     *   @return true if it is a known global; else, false
+     */
+    public boolean isGlobal(Token vbl) {
+        return this.globals.containsKey(vbl);
+    }
+
+    /**
+     * Locates a global variable, assigning it the next global slot if it is new.
+     *   @param vbl the variable to look up
+     *   @return the global slot of that variable
+     */
+    public int lookupGlobal(Token vbl) {
+        Integer slot = this.globals.get(vbl);
+        if (slot == null) {
+            slot = this.globals.size();
+            this.globals.put(vbl, slot);
+        }
+        return slot;
+    }
+
+    /**
+     * Declares a variable in the innermost local scope.
+     *   @param vbl the variable to declare
+     *   @return the frame slot assigned to it
+     */
+    public int declareLocal(Token vbl) {
+        int slot = this.nextSlot++;
+        this.scope.storeInScope(vbl, slot);
+        this.frameSize = Math.max(this.frameSize, this.nextSlot);
+        return slot;
+    }
+
+    /**
+     * Begins a nested block scope.
+     *   @return the first slot available to the block
+     */
+    public int beginBlock() {
+        this.scope = new ScopeRec(this.scope);
+        return this.nextSlot;
+    }
+
+    /**
+     * Ends the current block scope, releasing its slots for reuse.
+     *   @param firstSlot the first slot of the block (as returned by beginBlock)
+     *   @return one past the last slot used by the block's own variables
+     */
+    public int endBlock(int firstSlot) {
+        int end = this.nextSlot;
+        this.scope = this.scope.getParentScope();
+        this.nextSlot = firstSlot;
+        return end;
+    }
+
+    /**
+     * Returns to the top level, leaving any blocks still open (after resolving a
+     * statement failed part way).
+     */
+    public void reset() {
+        this.scope = null;
+        this.nextSlot = 0;
+    }
+
+    /**
+     * Accesses the number of slots needed by the current frame.
+     *   @return the frame size
+     */
+    public int getFrameSize() {
+        return this.frameSize;
+    }
+
+    /**
+     * Accesses the number of global slots assigned so far.
+     *   @return the number of globals
+     */
+    public int getGlobalCount() {
+        return this.globals.size();
+    }
+}
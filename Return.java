@@ -1,26 +1,81 @@
 /**
 * Class that represents a return statement in the SILLY language.
- * A return statement evaluates an expression and stores the result
- * in the current function scope under the special variable "__return__".
+ * A return statement evaluates an expression and returns the result
+ * from its execute method, to be passed up to the enclosing function call.
  *  @author Santiago Lizarraga
  *  @version 3/27/25
  */
 
-public class Return extends Statement {
+public class Return extends Statement implements ExpressionHolder {
     private Expression expr;
+    private boolean tailCall;
 
-    public Return(TokenStream input) throws Exception {
-        this.expr = new Expression(input);
+    public Return(Expression expr) {
+        this.expr = expr.adoptedBy(this);
     }
 
+    /**
+     * Replaces the expression (when it specializes itself).
+     *   @param oldChild the expression being replaced
+     *   @param newChild its replacement
+     */
+    public void replaceChild(Expression oldChild, Expression newChild) {
+        if (this.expr == oldChild) {
+            this.expr = newChild;
+        }
+    }
+
+    /**
+     * Resolves the returned expression; a function call returned from inside a
+     * function is a tail call.
+     *   @param r the resolver for the enclosing scope
+     */
     @Override
-public void execute() throws Exception {
-    DataValue value = this.expr.evaluate();
-    Token returnToken = new Token("__return__");
-    ScopeRec currentScope = Interpreter.MEMORY.getCurrentScope();
-    currentScope.storeInScope(returnToken, value);
-    throw new ReturnException();
-}
+    public void resolve(Resolver r) {
+        this.expr.resolve(r);
+        this.tailCall = (this.expr instanceof Call && r.inFunction());
+    }
+
+    @Override
+    public void checkPurity(PurityCheck check) {
+        this.expr.checkPurity(check);
+    }
+
+    /**
+     * Executes the return statement: the value is handed back through each
+     * enclosing statement to the function call.  For a tail call, the called
+     * function is not run here; a TailCall signal is handed back instead.
+     *   @return the value of the expression (or the TailCall signal)
+     */
+    @Override
+    public DataValue execute(MemorySpace mem) throws Exception {
+        if (this.tailCall) {
+            return ((Call) this.expr).prepareTailCall(mem);
+        }
+        return this.expr.evaluate(mem);
+    }
+
+    @Override
+    public void compile(JitCompiler jit) {
+        if (this.tailCall) {
+            jit.emitExecute(this);
+        } else {
+            this.expr.compile(jit);
+            jit.emitReturn();
+        }
+    }
+
+    @Override
+    public void compile(VmCompiler vm) {
+        if (this.tailCall) {
+            ((Call) this.expr).compileCall(vm, VmCompiler.TAIL_CALL);
+            vm.emit(VmCompiler.RETURN);
+        } else {
+            this.expr.compile(vm);
+            vm.emit(VmCompiler.RETURN);
+        }
+    }
+
     public String toString() {
         return "return " + expr;
     }
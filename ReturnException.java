@@ -1,10 +0,0 @@
-/**
- * Custom exception used to signal a return from a function in the SILLY language.
- * @author Santiago Lizarraga
- * @version 3/27/25
- */
-
-public class ReturnException extends RuntimeException {
-    
-}
-
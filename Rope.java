@@ -0,0 +1,274 @@
+import java.util.AbstractList;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Class that represents an immutable sequence of values, stored as a balanced
+ *   binary tree whose leaves are arrays of values or runs of text.  Concatenating
+ *   two ropes builds O(log n) new nodes and shares everything else, so neither
+ *   operand is copied or modified; indexing walks down the tree in O(log n).
+ *
+ *   The tree is kept AVL-balanced (the depths of the two sides of a node differ by
+ *   at most one), and adjacent small leaves of the same kind are merged so that
+ *   appending one item at a time does not build a tree of single-item leaves.
+ *   @version 10/18/26
+ */
+public abstract class Rope extends AbstractList<DataValue> {
+    public static final Rope EMPTY = new Rope.Items(new DataValue[0]);
+    private static final int LEAF_SIZE = 64;
+
+    protected final int size;
+    protected final int depth;
+
+    private Rope(int size, int depth) {
+        this.size = size;
+        this.depth = depth;
+    }
+
+    /**
+     * Constructs a rope holding the values in an array (the array is not copied,
+     *   so it must not be modified afterwards).
+     *   @param items the values
+     *   @return a rope containing the values
+     */
+    public static Rope of(DataValue[] items) {
+        return (items.length == 0 ? Rope.EMPTY : new Rope.Items(items));
+    }
+
+    /**
+     * Constructs a rope holding the values in a list.
+     *   @param items the values
+     *   @return a rope containing (a copy of) the values
+     */
+    public static Rope of(List<DataValue> items) {
+        return Rope.of(items.toArray(new DataValue[items.size()]));
+    }
+
+    /**
+     * Constructs a rope holding the characters of a string (as CharValues).
+     *   @param text the string
+     *   @return a rope containing the characters
+     */
+    public static Rope of(String text) {
+        return (text.isEmpty() ? Rope.EMPTY : new Rope.Text(text));
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Concatenates this rope and another one (neither is modified).
+     *   @param other the rope to append
+     *   @return a rope containing the values of this rope followed by those of other
+     */
+    public Rope concat(Rope other) {
+        if (this.size == 0) {
+            return other;
+        }
+        if (other.size == 0) {
+            return this;
+        }
+        return Rope.join(this, other);
+    }
+
+    /**
+     * Appends the text of every value (e.g., every character of a string) to a builder.
+     *   @param sb the builder
+     */
+    public abstract void appendTo(StringBuilder sb);
+
+    /**
+     * Writes the text of every value to an output sink.
+     *   @param out the sink
+     */
+    public abstract void writeTo(OutputSink out);
+
+    /**
+     * Iterates over the values leaf by leaf (rather than indexing each one).
+     *   @return an iterator over the values
+     */
+    public Iterator<DataValue> iterator() {
+        return new Iterator<DataValue>() {
+            private ArrayDeque<Rope> pending = new ArrayDeque<Rope>();
+            private Rope leaf;
+            private int pos;
+
+            {
+                this.descend(Rope.this);
+            }
+
+            private void descend(Rope node) {
+                while (node instanceof Rope.Concat) {
+                    this.pending.push(((Rope.Concat) node).right);
+                    node = ((Rope.Concat) node).left;
+                }
+                this.leaf = node;
+                this.pos = 0;
+            }
+
+            public boolean hasNext() {
+                while (this.pos == this.leaf.size && !this.pending.isEmpty()) {
+                    this.descend(this.pending.pop());
+                }
+                return this.pos < this.leaf.size;
+            }
+
+            public DataValue next() {
+                if (!this.hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return this.leaf.get(this.pos++);
+            }
+        };
+    }
+
+    private static Rope join(Rope left, Rope right) {
+        if (left.depth > right.depth + 1) {
+            Rope.Concat node = (Rope.Concat) left;
+            return Rope.balance(node.left, Rope.join(node.right, right));
+        }
+        if (right.depth > left.depth + 1) {
+            Rope.Concat node = (Rope.Concat) right;
+            return Rope.balance(Rope.join(left, node.left), node.right);
+        }
+        Rope merged = Rope.merge(left, right);
+        return (merged != null ? merged : new Rope.Concat(left, right));
+    }
+
+    /**
+     * Merges two adjacent leaves of the same kind into one, if the result is small.
+     *   @return the merged leaf, or null if the ropes are not merged
+     */
+    private static Rope merge(Rope left, Rope right) {
+        if (left.size + right.size > LEAF_SIZE) {
+            return null;
+        }
+        if (left instanceof Rope.Text && right instanceof Rope.Text) {
+            return new Rope.Text(((Rope.Text) left).text + ((Rope.Text) right).text);
+        }
+        if (left instanceof Rope.Items && right instanceof Rope.Items) {
+            DataValue[] items = new DataValue[left.size + right.size];
+            System.arraycopy(((Rope.Items) left).items, 0, items, 0, left.size);
+            System.arraycopy(((Rope.Items) right).items, 0, items, left.size, right.size);
+            return new Rope.Items(items);
+        }
+        return null;
+    }
+
+    /**
+     * Builds a node from two balanced subtrees whose depths differ by at most two,
+     *   rotating once (or twice) if necessary.
+     */
+    private static Rope balance(Rope left, Rope right) {
+        if (right.depth > left.depth + 1) {
+            Rope.Concat r = (Rope.Concat) right;
+            if (r.left.depth > r.right.depth) {
+                Rope.Concat rl = (Rope.Concat) r.left;
+                return new Rope.Concat(new Rope.Concat(left, rl.left), new Rope.Concat(rl.right, r.right));
+            }
+            return new Rope.Concat(new Rope.Concat(left, r.left), r.right);
+        }
+        if (left.depth > right.depth + 1) {
+            Rope.Concat l = (Rope.Concat) left;
+            if (l.right.depth > l.left.depth) {
+                Rope.Concat lr = (Rope.Concat) l.right;
+                return new Rope.Concat(new Rope.Concat(l.left, lr.left), new Rope.Concat(lr.right, right));
+            }
+            return new Rope.Concat(l.left, new Rope.Concat(l.right, right));
+        }
+        return new Rope.Concat(left, right);
+    }
+
+    /**
+     * Leaf holding an array of values.
+     */
+    private static class Items extends Rope {
+        private final DataValue[] items;
+
+        private Items(DataValue[] items) {
+            super(items.length, 0);
+            this.items = items;
+        }
+
+        public DataValue get(int index) {
+            return this.items[index];
+        }
+
+        public void appendTo(StringBuilder sb) {
+            for (DataValue v : this.items) {
+                sb.append(v);
+            }
+        }
+
+        public void writeTo(OutputSink out) {
+            for (DataValue v : this.items) {
+                v.writeTo(out);
+            }
+        }
+    }
+
+    /**
+     * Leaf holding a run of text (whose values are the characters).
+     */
+    private static class Text extends Rope {
+        private final String text;
+
+        private Text(String text) {
+            super(text.length(), 0);
+            this.text = text;
+        }
+
+        public DataValue get(int index) {
+            return CharValue.of(this.text.charAt(index));
+        }
+
+        public void appendTo(StringBuilder sb) {
+            sb.append(this.text);
+        }
+
+        public void writeTo(OutputSink out) {
+            out.write(this.text);
+        }
+    }
+
+    /**
+     * Interior node: the values of left followed by those of right.
+     */
+    private static class Concat extends Rope {
+        private final Rope left;
+        private final Rope right;
+
+        private Concat(Rope left, Rope right) {
+            super(left.size + right.size, 1 + Math.max(left.depth, right.depth));
+            this.left = left;
+            this.right = right;
+        }
+
+        public DataValue get(int index) {
+            Rope node = this;
+            while (node instanceof Rope.Concat) {
+                Rope.Concat c = (Rope.Concat) node;
+                if (index < c.left.size) {
+                    node = c.left;
+                } else {
+                    index -= c.left.size;
+                    node = c.right;
+                }
+            }
+            return node.get(index);
+        }
+
+        public void appendTo(StringBuilder sb) {
+            this.left.appendTo(sb);
+            this.right.appendTo(sb);
+        }
+
+        public void writeTo(OutputSink out) {
+            this.left.writeTo(out);
+            this.right.writeTo(out);
+        }
+    }
+}
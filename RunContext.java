@@ -0,0 +1,63 @@
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Class that holds the state of one run of a Program: its memory space (variables
+ *   and declared functions) and the sink its print statements write to.
+ *   @version 10/18/26
+ */
+public class RunContext {
+    private MemorySpace mem;
+
+    /**
+     * Constructs a context for a run that prints to System.out.
+     */
+    public RunContext() {
+        this(new StreamSink());
+    }
+
+    /**
+     * Constructs a context for a run.
+     *   @param out the sink that print statements write to (e.g., a MemorySink)
+     */
+    public RunContext(OutputSink out) {
+        this.mem = new MemorySpace(out);
+    }
+
+    /**
+     * Profiles the run (see Profiler).
+     *   @param profiler the profiler recording the run, or null to stop profiling
+     */
+    public void setProfiler(Profiler profiler) {
+        this.mem.setProfiler(profiler);
+    }
+
+    /**
+     * Limits the resources the run may use (see Budget).
+     *   @param budget the limits, or null for none
+     */
+    public void setBudget(Budget budget) {
+        this.mem.setBudget(budget);
+    }
+
+    /**
+     * Accesses the caches of the memoized functions called in the run, whose hit
+     * and miss counts show how well memoization is paying off.
+     *   @return the caches, by function name
+     */
+    public Map<String, MemoCache> getMemoCaches() {
+        TreeMap<String, MemoCache> caches = new TreeMap<String, MemoCache>();
+        for (Map.Entry<FunctionDecl, MemoCache> entry : this.mem.getMemoCaches().entrySet()) {
+            caches.put(entry.getKey().getName(), entry.getValue());
+        }
+        return caches;
+    }
+
+    public MemorySpace getMemory() {
+        return this.mem;
+    }
+
+    public OutputSink getOutput() {
+        return this.mem.getOutput();
+    }
+}
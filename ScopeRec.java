@@ -1,12 +1,14 @@
 import java.util.HashMap;
 
 /**
- * Class that represents a scope record in the program execution.
+ * Class that represents a scope record (a block or function body) while a program
+ *   is being resolved.  Each variable declared in the scope is mapped to the slot
+ *   it occupies in its frame, so that no name lookups are needed at runtime.
  *   @author Dave Reed
  *   @version 1/20/25
  */
 public class ScopeRec {
-    private HashMap<Token, DataValue> map;
+    private HashMap<Token, Integer> map;
     private ScopeRec parentScope;
     
     /**
@@ -14,7 +16,7 @@ public class ScopeRec {
      * @param parent a reference to the parent scope record (null if no parent)
      */
     public ScopeRec(ScopeRec parent) {
-    	this.map = new HashMap<Token, DataValue>();
+    	this.map = new HashMap<Token, Integer>();
     	this.parentScope = parent;
     }
     
@@ -28,21 +30,21 @@ public class ScopeRec {
     }
     
     /**
-     * Determines the value associated with a variable in this scope record.
+     * Determines the frame slot associated with a variable in this scope record.
      *   @param variable the variable to look up
-     *   @return the value associated with that variable (null if not found)
+     *   @return the slot assigned to that variable (null if not found)
      */      
-    public DataValue lookupInScope(Token variable) {
+    public Integer lookupInScope(Token variable) {
         return this.map.get(variable);
     }
     
     /**
-     * Stores a variable & value in this scope record.
+     * Stores a variable & slot in this scope record.
      *   @param variable the variable name
-     *   @param val the value to be stored under that name
+     *   @param slot the frame slot assigned to that variable
      */
-    public void storeInScope(Token variable, DataValue val)  {
-        this.map.put(variable, val);
+    public void storeInScope(Token variable, int slot)  {
+        this.map.put(variable, slot);
     }
     
     /**
@@ -0,0 +1,74 @@
+import java.util.Arrays;
+
+/**
+ * Abstract class for a built-in function that applies a declared function to the
+ *   items of a list or string, e.g., (map twice nums).  The first operand names the
+ *   function (it is not a variable).  Map, filter and count may process the items
+ *   in parallel (see SeqParallel); reduce always processes them in order.
+ *   @version 10/18/26
+ */
+public abstract class SeqApply extends Operation {
+    public SeqApply(Token op, Expression[] args) {
+        super(op, args);
+    }
+
+    /**
+     * Identifies the operands to resolve (all but the function name).
+     *   @param r the resolver for the enclosing scope
+     *   @return the operands still to be resolved
+     */
+    protected Expression[] resolveNode(Resolver r) {
+        if (this.args.length > 0 && this.args[0] instanceof VarRef) {
+            return Arrays.copyOfRange(this.args, 1, this.args.length);
+        }
+        return this.args;
+    }
+
+    /**
+     * Records the call of the function (and the effects of the other operands) for
+     * the purity analysis.
+     *   @param check the analysis collecting the effects
+     */
+    public void checkPurity(PurityCheck check) {
+        for (int i = 0; i < this.args.length; i++) {
+            if (i > 0 || !(this.args[i] instanceof VarRef)) {
+                this.args[i].checkPurity(check);
+            } else {
+                check.addCallee(this.args[i].toString());
+            }
+        }
+    }
+
+    /**
+     * Identifies the function named by the first operand, checking that it is
+     * declared and takes the specified number of arguments.
+     *   @param arity the number of arguments the function is called with
+     *   @return the function
+     */
+    protected FunctionDecl evaluateFunction(MemorySpace mem, int arity) throws Exception {
+        if (!(this.args[0] instanceof VarRef)) {
+            throw new Exception("RUNTIME ERROR: Function name expected in " + this.op + " expression.");
+        }
+        FunctionDecl function = mem.lookupFunction(this.args[0].toString());
+        if (function == null) {
+            throw new Exception("RUNTIME ERROR: Function '" + this.args[0] + "' not declared.");
+        }
+        if (function.getParameters().size() != arity) {
+            throw new Exception("RUNTIME ERROR: Function '" + function.getName() +
+                                "' expects " + function.getParameters().size() + " arguments.");
+        }
+        return function;
+    }
+
+    /**
+     * Calls a function.
+     *   @param function the function
+     *   @param vals the argument values
+     *   @return the value returned by the function
+     */
+    protected static DataValue call(FunctionDecl function, MemorySpace mem, DataValue... vals) throws Exception {
+        DataValue[] frame = mem.acquireFrame(function.getFrameSize());
+        System.arraycopy(vals, 0, frame, 0, vals.length);
+        return Call.invoke(function, frame, mem);
+    }
+}
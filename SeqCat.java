@@ -0,0 +1,61 @@
+/**
+ * Derived class that represents a concatenation expression, e.g., (cat "ab" s).
+ *   @version 10/18/26
+ */
+public class SeqCat extends Operation {
+    public SeqCat(Token op, Expression[] args) {
+        super(op, args);
+    }
+
+    /**
+     * Evaluates the current concatenation expression (the operands are not modified).
+     *   @return a new list containing the items of every operand, in order
+     *           (a string, if every operand is a string)
+     */
+    public DataValue evaluate(MemorySpace mem) throws Exception {
+        ListValue first = this.evaluateSequence(mem, 0);
+        if (this.args.length < 2) {
+            throw new Exception("RUNTIME ERROR: Incorrect arity in cat expression.");
+        }
+        DataValue[] vals = new DataValue[this.args.length];
+        vals[0] = first;
+        for (int i = 1; i < this.args.length; i++) {
+            vals[i] = this.args[i].evaluate(mem);
+            if (vals[i].getType() != DataValue.Type.LIST && vals[i].getType() != DataValue.Type.STRING) {
+                throw new Exception("RUNTIME ERROR: Type mismatch in cat expression.");
+            }
+        }
+        return SeqCat.cat(vals, 0, vals.length);
+    }
+
+    public void compile(VmCompiler vm) {
+        this.compileSequence(vm);
+        if (this.args.length < 2) {
+            vm.emitFail("RUNTIME ERROR: Incorrect arity in cat expression.");
+            return;
+        }
+        for (int i = 1; i < this.args.length; i++) {
+            this.args[i].compile(vm);
+            vm.emit(VmCompiler.CHECK_CAT);
+        }
+        vm.emit(VmCompiler.CAT, this.args.length);
+    }
+
+    /**
+     * Concatenates lists and strings.  The result shares the operands' items (see
+     * Rope); it is a string if every operand is a string, otherwise a list.
+     *   @param vals an array holding the (already checked) operands
+     *   @param from the index of the first operand
+     *   @param count the number of operands
+     *   @return the concatenation of the operands
+     */
+    public static ListValue cat(DataValue[] vals, int from, int count) {
+        boolean strings = true;
+        Rope items = Rope.EMPTY;
+        for (int i = from; i < from + count; i++) {
+            strings = strings && vals[i].getType() == DataValue.Type.STRING;
+            items = items.concat(((ListValue) vals[i]).items());
+        }
+        return (strings ? new StringValue(items) : new ListValue(items));
+    }
+}
@@ -0,0 +1,40 @@
+/**
+ * Derived class that represents a count expression, e.g., (count even nums), the
+ *   number of items of a list or string for which a function returns true.
+ *   @version 10/18/26
+ */
+public class SeqCount extends SeqParallel {
+    public SeqCount(Token op, Expression[] args) {
+        super(op, args);
+    }
+
+    /**
+     * Evaluates the current count expression.
+     *   @return the number of items for which the function returns true
+     */
+    public DataValue evaluate(MemorySpace mem) throws Exception {
+        if (this.args.length != 2) {
+            throw new Exception("RUNTIME ERROR: Incorrect arity in count expression.");
+        }
+        FunctionDecl function = this.evaluateFunction(mem, 1);
+        ListValue list = this.evaluateSequence(mem, 1);
+        if (this.isParallel(function, mem, list)) {
+            return NumberValue.of((Long) this.processParallel(function, mem, list));
+        }
+        return NumberValue.of((Long) this.process(function, mem, list, 0, list.size()));
+    }
+
+    protected Object process(FunctionDecl function, MemorySpace mem, ListValue list, int from, int to) throws Exception {
+        long count = 0;
+        for (int i = from; i < to; i++) {
+            if (SeqFilter.test(function, mem, list.get(i))) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    protected Object combine(FunctionDecl function, MemorySpace mem, Object left, Object right) {
+        return (Long) left + (Long) right;
+    }
+}
@@ -0,0 +1,60 @@
+import java.util.ArrayList;
+
+/**
+ * Derived class that represents a filter expression, e.g., (filter even nums), which
+ *   keeps the items of a list or string for which a function returns true.
+ *   @version 10/18/26
+ */
+public class SeqFilter extends SeqParallel {
+    public SeqFilter(Token op, Expression[] args) {
+        super(op, args);
+    }
+
+    /**
+     * Evaluates the current filter expression.
+     *   @return the items kept, in order (a string, if filtering a string)
+     */
+    public DataValue evaluate(MemorySpace mem) throws Exception {
+        if (this.args.length != 2) {
+            throw new Exception("RUNTIME ERROR: Incorrect arity in filter expression.");
+        }
+        FunctionDecl function = this.evaluateFunction(mem, 1);
+        ListValue list = this.evaluateSequence(mem, 1);
+        Rope kept;
+        if (this.isParallel(function, mem, list)) {
+            kept = (Rope) this.processParallel(function, mem, list);
+        } else {
+            kept = (Rope) this.process(function, mem, list, 0, list.size());
+        }
+        return (list.getType() == DataValue.Type.STRING ? new StringValue(kept) : new ListValue(kept));
+    }
+
+    protected Object process(FunctionDecl function, MemorySpace mem, ListValue list, int from, int to) throws Exception {
+        ArrayList<DataValue> kept = new ArrayList<DataValue>();
+        for (int i = from; i < to; i++) {
+            DataValue item = list.get(i);
+            if (SeqFilter.test(function, mem, item)) {
+                kept.add(item);
+            }
+        }
+        return Rope.of(kept);
+    }
+
+    protected Object combine(FunctionDecl function, MemorySpace mem, Object left, Object right) {
+        return ((Rope) left).concat((Rope) right);
+    }
+
+    /**
+     * Calls a function that must return a Boolean (for filter and count expressions).
+     *   @param function the function
+     *   @param item its argument
+     *   @return the value the function returns
+     */
+    public static boolean test(FunctionDecl function, MemorySpace mem, DataValue item) throws Exception {
+        DataValue val = SeqApply.call(function, mem, item);
+        if (val.getType() != DataValue.Type.BOOLEAN) {
+            throw new Exception("RUNTIME ERROR: Boolean value expected.");
+        }
+        return ((BooleanValue) val).booleanValue();
+    }
+}
@@ -0,0 +1,52 @@
+/**
+ * Derived class that represents an indexing expression, e.g., (get words 0).
+ *   @version 10/18/26
+ */
+public class SeqGet extends Operation {
+    public SeqGet(Token op, Expression[] args) {
+        super(op, args);
+    }
+
+    /**
+     * Evaluates the current indexing expression.
+     *   @return the item at the specified (zero-based) index
+     */
+    public DataValue evaluate(MemorySpace mem) throws Exception {
+        ListValue list = this.evaluateSequence(mem, 0);
+        if (this.args.length != 2) {
+            throw new Exception("RUNTIME ERROR: Incorrect arity in get expression.");
+        }
+        return SeqGet.get(list, this.args[1].evaluate(mem));
+    }
+
+    public void compile(VmCompiler vm) {
+        this.compileSequence(vm);
+        if (this.args.length != 2) {
+            vm.emitFail("RUNTIME ERROR: Incorrect arity in get expression.");
+            return;
+        }
+        this.args[1].compile(vm);
+        vm.emit(VmCompiler.GET);
+    }
+
+    /**
+     * Accesses an item of a list or string.
+     *   @param list the list or string
+     *   @param second the index value
+     *   @return the item at that (zero-based) index
+     */
+    public static DataValue get(ListValue list, DataValue second) throws Exception {
+        if (second.getType() != DataValue.Type.NUMBER) {
+            throw new Exception("RUNTIME ERROR: Number expected in get expression.");
+        }
+        double dub = ((NumberValue) second).doubleValue();
+        if (dub != Math.round(dub)) {
+            throw new Exception("RUNTIME ERROR: List index must be an integer.");
+        }
+        int index = (int) dub;
+        if (index < 0 || index >= list.size()) {
+            throw new Exception("RUNTIME ERROR: List index out of bounds.");
+        }
+        return list.get(index);
+    }
+}
@@ -0,0 +1,30 @@
+/**
+ * Derived class that represents a length expression, e.g., (len words).
+ *   @version 10/18/26
+ */
+public class SeqLen extends Operation {
+    public SeqLen(Token op, Expression[] args) {
+        super(op, args);
+    }
+
+    /**
+     * Evaluates the current length expression.
+     *   @return the number of items in the list or string
+     */
+    public DataValue evaluate(MemorySpace mem) throws Exception {
+        ListValue list = this.evaluateSequence(mem, 0);
+        if (this.args.length != 1) {
+            throw new Exception("RUNTIME ERROR: Incorrect arity in len expression.");
+        }
+        return NumberValue.of(list.size());
+    }
+
+    public void compile(VmCompiler vm) {
+        this.compileSequence(vm);
+        if (this.args.length != 1) {
+            vm.emitFail("RUNTIME ERROR: Incorrect arity in len expression.");
+            return;
+        }
+        vm.emit(VmCompiler.LEN);
+    }
+}
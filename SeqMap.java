@@ -0,0 +1,38 @@
+/**
+ * Derived class that represents a map expression, e.g., (map twice nums), which
+ *   applies a function to every item of a list or string.
+ *   @version 10/18/26
+ */
+public class SeqMap extends SeqParallel {
+    public SeqMap(Token op, Expression[] args) {
+        super(op, args);
+    }
+
+    /**
+     * Evaluates the current map expression.
+     *   @return a list of the values the function returns for the items, in order
+     */
+    public DataValue evaluate(MemorySpace mem) throws Exception {
+        if (this.args.length != 2) {
+            throw new Exception("RUNTIME ERROR: Incorrect arity in map expression.");
+        }
+        FunctionDecl function = this.evaluateFunction(mem, 1);
+        ListValue list = this.evaluateSequence(mem, 1);
+        if (this.isParallel(function, mem, list)) {
+            return new ListValue((Rope) this.processParallel(function, mem, list));
+        }
+        return new ListValue((Rope) this.process(function, mem, list, 0, list.size()));
+    }
+
+    protected Object process(FunctionDecl function, MemorySpace mem, ListValue list, int from, int to) throws Exception {
+        DataValue[] vals = new DataValue[to - from];
+        for (int i = from; i < to; i++) {
+            vals[i - from] = SeqApply.call(function, mem, list.get(i));
+        }
+        return Rope.of(vals);
+    }
+
+    protected Object combine(FunctionDecl function, MemorySpace mem, Object left, Object right) {
+        return ((Rope) left).concat((Rope) right);
+    }
+}
@@ -0,0 +1,129 @@
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Abstract class for a SeqApply built-in that may process the items of a list in
+ *   parallel (map, filter and count).  If the function is pure, a list of at least
+ *   PARALLEL_THRESHOLD items is split in halves (down to chunks below the threshold)
+ *   that are processed on the common ForkJoinPool, each worker thread calling the
+ *   function in a memory space of its own (which keeps it from rewriting the shared
+ *   syntax trees, see MemorySpace.isWorker).  The chunks depend only on the length
+ *   of the list, so a parallel run gives the same result every time.  Shorter lists,
+ *   impure functions and calls made inside a worker are processed in order.  The
+ *   threshold is set with -Dsilly.parallel.threshold=N (default 4096; at least 2,
+ *   since a chunk of one item cannot be split).
+ *   @version 10/18/26
+ */
+public abstract class SeqParallel extends SeqApply {
+    public static final int PARALLEL_THRESHOLD = Math.max(2, Integer.getInteger("silly.parallel.threshold", 4096));
+
+    public SeqParallel(Token op, Expression[] args) {
+        super(op, args);
+    }
+
+    /**
+     * Determines whether the items of a list are processed in parallel.
+     *   @param function the function applied
+     *   @param list the list
+     *   @return true if the list is long enough and the function is pure (and the
+     *           run is not being profiled, nor already running in a worker)
+     */
+    protected boolean isParallel(FunctionDecl function, MemorySpace mem, ListValue list) {
+        return list.size() >= SeqParallel.PARALLEL_THRESHOLD && mem.getProfiler() == null &&
+               !mem.isWorker() && function.isPure(mem);
+    }
+
+    /**
+     * Processes every item of a list, in parallel chunks.
+     *   @param function the function applied
+     *   @param list the list
+     *   @return the combined result for all the chunks
+     */
+    protected Object processParallel(FunctionDecl function, MemorySpace mem, ListValue list) throws Exception {
+        ConcurrentHashMap<Thread, MemorySpace> workers = new ConcurrentHashMap<>();
+        Object result = new Chunk(function, mem, workers, list, 0, list.size()).invoke();
+        if (result instanceof Exception) {
+            throw (Exception) result;
+        }
+        return result;
+    }
+
+    /**
+     * Processes a range of items of a list, in order.
+     *   @param function the function applied
+     *   @param mem the memory space to call the function in
+     *   @param list the list
+     *   @param from the index of the first item
+     *   @param to one past the index of the last item
+     *   @return the result for the range
+     */
+    protected abstract Object process(FunctionDecl function, MemorySpace mem, ListValue list,
+                                      int from, int to) throws Exception;
+
+    /**
+     * Combines the results for two adjacent ranges of items.
+     *   @param function the function applied
+     *   @param mem the memory space to call the function in
+     *   @param left the result for the first range
+     *   @param right the result for the range after it
+     *   @return the result for both ranges
+     */
+    protected abstract Object combine(FunctionDecl function, MemorySpace mem,
+                                      Object left, Object right) throws Exception;
+
+    /**
+     * Class for the task that processes a range of items.  The result of a task is
+     * the result for its range, or the first error (in list order) that occurred in it.
+     * The tasks of a list share a memory space per worker thread.
+     */
+    private class Chunk extends RecursiveTask<Object> {
+        private static final long serialVersionUID = 1L;
+
+        private final FunctionDecl function;
+        private final MemorySpace mem;
+        private final ConcurrentHashMap<Thread, MemorySpace> workers;
+        private final ListValue list;
+        private final int from;
+        private final int to;
+
+        private Chunk(FunctionDecl function, MemorySpace mem, ConcurrentHashMap<Thread, MemorySpace> workers,
+                      ListValue list, int from, int to) {
+            this.function = function;
+            this.mem = mem;
+            this.workers = workers;
+            this.list = list;
+            this.from = from;
+            this.to = to;
+        }
+
+        protected Object compute() {
+            try {
+                if (this.to - this.from < SeqParallel.PARALLEL_THRESHOLD) {
+                    return SeqParallel.this.process(this.function, this.worker(), this.list, this.from, this.to);
+                }
+                int mid = (this.from + this.to) >>> 1;
+                Chunk right = new Chunk(this.function, this.mem, this.workers, this.list, mid, this.to);
+                right.fork();
+                Object leftResult = new Chunk(this.function, this.mem, this.workers, this.list, this.from, mid).compute();
+                Object rightResult = right.join();
+                if (leftResult instanceof Exception) {
+                    return leftResult;
+                } else if (rightResult instanceof Exception) {
+                    return rightResult;
+                }
+                return SeqParallel.this.combine(this.function, this.worker(), leftResult, rightResult);
+            } catch (Exception e) {
+                return e;
+            }
+        }
+
+        /**
+         * Finds the memory space of the current worker thread, creating it on the
+         * thread's first task.
+         *   @return the worker's memory space
+         */
+        private MemorySpace worker() {
+            return this.workers.computeIfAbsent(Thread.currentThread(), t -> this.mem.forWorker());
+        }
+    }
+}
@@ -0,0 +1,30 @@
+/**
+ * Derived class that represents a reduce expression, e.g., (reduce add 0 nums),
+ *   which combines an initial value and the items of a list or string with a
+ *   two-argument function: (add (add (add 0 a) b) c).  The items are always
+ *   combined in order, since the function need not be associative.
+ *   @version 10/18/26
+ */
+public class SeqReduce extends SeqApply {
+    public SeqReduce(Token op, Expression[] args) {
+        super(op, args);
+    }
+
+    /**
+     * Evaluates the current reduce expression.
+     *   @return the combined value (the initial value, for an empty list)
+     */
+    public DataValue evaluate(MemorySpace mem) throws Exception {
+        if (this.args.length != 3) {
+            throw new Exception("RUNTIME ERROR: Incorrect arity in reduce expression.");
+        }
+        FunctionDecl function = this.evaluateFunction(mem, 2);
+        DataValue initial = this.args[1].evaluate(mem);
+        ListValue list = this.evaluateSequence(mem, 2);
+        DataValue result = initial;
+        for (int i = 0; i < list.size(); i++) {
+            result = SeqApply.call(function, mem, result, list.get(i));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,37 @@
+/**
+ * Derived class that represents a string conversion expression, e.g., (str 12).
+ *   @version 10/18/26
+ */
+public class SeqStr extends Operation {
+    public SeqStr(Token op, Expression[] args) {
+        super(op, args);
+    }
+
+    /**
+     * Evaluates the current string conversion expression.
+     *   @return the string representation of the operand
+     */
+    public DataValue evaluate(MemorySpace mem) throws Exception {
+        if (this.args.length == 0) {
+            throw new Exception("RUNTIME ERROR: Incorrect arity in sequence expression.");
+        }
+        DataValue first = this.args[0].evaluate(mem);
+        if (this.args.length != 1) {
+            throw new Exception("RUNTIME ERROR: Incorrect arity in str expression.");
+        }
+        return new StringValue(first.toString());
+    }
+
+    public void compile(VmCompiler vm) {
+        if (this.args.length == 0) {
+            vm.emitFail("RUNTIME ERROR: Incorrect arity in sequence expression.");
+            return;
+        }
+        this.args[0].compile(vm);
+        if (this.args.length != 1) {
+            vm.emitFail("RUNTIME ERROR: Incorrect arity in str expression.");
+            return;
+        }
+        vm.emit(VmCompiler.STR);
+    }
+}
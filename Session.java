@@ -0,0 +1,86 @@
+/**
+ * Class that represents one program run by a SessionExecutor.  A session compiles
+ *   its own Program from the source and runs it with its own memory space, printing
+ *   into its own buffer, so it shares no mutable state with other sessions.  Once
+ *   it has finished, the session holds the output, the error that stopped it (if
+ *   any) and how long compiling and running took.  Each run is limited by a Budget
+ *   set with the silly.limit properties (see Interpreter), if any.
+ *   @version 10/18/26
+ */
+public class Session {
+    private final long id;
+    private final String source;
+    private final boolean useVm;
+    private MemorySink output;
+    private Exception error;
+    private long compileNanos;
+    private long runNanos;
+
+    /**
+     * Constructs a session (to be run by a SessionExecutor).
+     *   @param id the session number
+     *   @param source the source code of the program
+     *   @param useVm true if the program is run on the VirtualMachine
+     */
+    public Session(long id, String source, boolean useVm) {
+        this.id = id;
+        this.source = source;
+        this.useVm = useVm;
+        this.output = new MemorySink();
+    }
+
+    /**
+     * Compiles and runs the program.  Runtime errors are printed to the output
+     * (as the interpreter does); an error that stops the program (e.g., a syntax
+     * error) is recorded instead.
+     *   @return this session
+     */
+    public Session run() {
+        long start = System.nanoTime();
+        try {
+            Program program = new SillyEngine(this.useVm).compile(this.source);
+            long compiled = System.nanoTime();
+            this.compileNanos = compiled - start;
+            RunContext context = new RunContext(this.output);
+            context.setBudget(Budget.fromProperties());
+            try {
+                program.run(context);
+            } finally {
+                this.runNanos = System.nanoTime() - compiled;
+            }
+        } catch (Exception e) {
+            this.error = e;
+        } catch (StackOverflowError e) {
+            this.error = new Exception("RUNTIME ERROR: Stack overflow.");
+        }
+        return this;
+    }
+
+    public long getId() {
+        return this.id;
+    }
+
+    /**
+     * Accesses what the program printed.
+     *   @return the output
+     */
+    public String getOutput() {
+        return this.output.toString();
+    }
+
+    /**
+     * Accesses the error that stopped the program.
+     *   @return the error, or null if the program ran to the end
+     */
+    public Exception getError() {
+        return this.error;
+    }
+
+    public long getCompileNanos() {
+        return this.compileNanos;
+    }
+
+    public long getRunNanos() {
+        return this.runNanos;
+    }
+}
@@ -0,0 +1,94 @@
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Class that runs many SILLY programs at once, each as an isolated Session.
+ *   Each session runs on a virtual thread of its own when the Java runtime
+ *   provides them (Java 21 and later); otherwise sessions share a pool of one
+ *   thread per core.  Sessions share no mutable state, so their hot paths never
+ *   wait on each other.
+ *   @version 10/18/26
+ */
+public class SessionExecutor implements AutoCloseable {
+    private final ExecutorService threads;
+    private final boolean useVm;
+    private final AtomicLong nextId;
+
+    /**
+     * Constructs an executor whose sessions walk the syntax tree.
+     */
+    public SessionExecutor() {
+        this(false);
+    }
+
+    /**
+     * Constructs an executor.
+     *   @param useVm true if sessions run on the VirtualMachine
+     */
+    public SessionExecutor(boolean useVm) {
+        this.threads = SessionExecutor.newThreads();
+        this.useVm = useVm;
+        this.nextId = new AtomicLong();
+    }
+
+    /**
+     * Starts a session running a program.
+     *   @param source the source code of the program
+     *   @return the session, available once it has finished
+     */
+    public Future<Session> submit(String source) {
+        Session session = new Session(this.nextId.getAndIncrement(), source, this.useVm);
+        return this.threads.submit(session::run);
+    }
+
+    /**
+     * Runs a session for each program and waits for all of them to finish.
+     *   @param sources the source code of the programs
+     *   @return the finished sessions (in the same order as the programs)
+     */
+    public List<Session> runAll(List<String> sources) throws InterruptedException {
+        ArrayList<Future<Session>> pending = new ArrayList<Future<Session>>();
+        for (String source : sources) {
+            pending.add(this.submit(source));
+        }
+        ArrayList<Session> sessions = new ArrayList<Session>();
+        for (Future<Session> session : pending) {
+            try {
+                sessions.add(session.get());
+            } catch (ExecutionException e) {
+                throw new IllegalStateException(e.getCause());
+            }
+        }
+        return sessions;
+    }
+
+    /**
+     * Stops accepting sessions; the sessions already started run to the end.
+     */
+    public void close() {
+        this.threads.shutdown();
+    }
+
+    /**
+     * Creates the threads sessions run on: a virtual thread per session if the
+     * runtime has them (looked up reflectively, since this code targets Java 17).
+     */
+    private static ExecutorService newThreads() {
+        try {
+            Method perTask = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) perTask.invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), task -> {
+                Thread thread = new Thread(task);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+}
@@ -0,0 +1,66 @@
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Class for embedding the SILLY interpreter in another program.  Source code is
+ *   compiled once into a Program, which can then be run any number of times (each
+ *   run with its own RunContext):
+ *
+ *     SillyEngine engine = new SillyEngine();
+ *     Program program = engine.compile("x = 5 print (* x 2)");
+ *     program.run(new RunContext(out));
+ *
+ *   Compiling has no effect on any run; functions are declared by running
+ *   their declarations.  Runs of one Program take turns: its syntax trees
+ *   specialize themselves as they run, so a Program used by a second thread while
+ *   it is running throws an IllegalStateException.  To run the same source on
+ *   several threads at once, compile a Program for each thread (as a Session does).
+ *   @version 10/18/26
+ */
+public class SillyEngine {
+    private boolean useVm;
+
+    /**
+     * Constructs an engine that runs programs by walking their syntax trees.
+     */
+    public SillyEngine() {
+        this(false);
+    }
+
+    /**
+     * Constructs an engine.
+     *   @param useVm true if programs are run on the VirtualMachine
+     */
+    public SillyEngine(boolean useVm) {
+        this.useVm = useVm;
+    }
+
+    /**
+     * Compiles a program from source code.
+     *   @param source the source code
+     *   @return the compiled program
+     */
+    public Program compile(String source) throws Exception {
+        TokenStream input = new TokenStream(ByteBuffer.wrap(source.getBytes(StandardCharsets.UTF_8)));
+        ArenaParser parser = new ArenaParser(input);
+        Program program = new Program(this.useVm);
+        while (input.hasNext()) {
+            program.add(parser.getStatement());
+        }
+        return program;
+    }
+
+    /**
+     * Compiles a program from a file (using its .sillyc cache if up to date).
+     *   @param filename the program file
+     *   @return the compiled program
+     */
+    public Program compileFile(String filename) throws Exception {
+        ProgramCache input = new ProgramCache(filename);
+        Program program = new Program(this.useVm);
+        while (input.hasNext()) {
+            program.add(input.getStatement());
+        }
+        return program;
+    }
+}
@@ -4,49 +4,50 @@
  *   @version 1/20/25
  */
 public abstract class Statement {
-    public abstract void execute() throws Exception; 
+    /**
+     * Executes the statement.
+     *   @param mem the memory space to execute in
+     *   @return the value of the return statement that ended the execution, or
+     *           null if the statement completed normally
+     */
+    public abstract DataValue execute(MemorySpace mem) throws Exception;
+
+    public abstract void resolve(Resolver r);
     public abstract String toString();
+
+    /**
+     * Emits JVM bytecode for the statement.  By default, the compiled code simply
+     * calls this statement's execute method; derived classes override this to
+     * generate specialized code.
+     *   @param jit the compiler emitting the code
+     */
+    public void compile(JitCompiler jit) {
+        jit.emitExecute(this);
+    }
+
+    /**
+     * Emits VirtualMachine instructions for the statement.  By default, the
+     * instructions call this statement's execute method.
+     *   @param vm the compiler emitting the instructions
+     */
+    public void compile(VmCompiler vm) {
+        vm.emitExecute(this);
+    }
     
     /**
-     * Static method that reads in an arbitrary Statement.
-     *   @param input the TokenStream from which the program is read
-     *   @return the next Statement in the program
+     * Declares the functions declared in the statement (at any depth), in the order
+     * they appear; this is done when a top-level statement is about to execute.
+     *   @param mem the memory space holding the function table
      */
-    public static Statement getStatement(TokenStream input) throws Exception {
-        Token first = input.lookAhead(); 
+    public void declareFunctions(MemorySpace mem) throws Exception {
+    }
 
-        if (first.toString().equals("print")) {
-            return new Print(input);
-        }  
-        else if (first.toString().equals("if")) {
-            return new If(input);
-        }                
-        else if (first.toString().equals("while")) {
-            return new While(input);
-        }       
-        else if (first.toString().equals("repeat")) {   
-            return new Repeat(input);
-        }
-        else if (first.toString().equals("{")) {
-            return new Compound(input);
-        }
-        else if (first.toString().equals("func")) {
-            input.next();  
-            return new FunctionDecl(input);  
-        }
-        else if (first.getType() == Token.Type.IDENTIFIER) {
-            return new Assignment(input);
-        }
-        else if (first.toString().equals("return")) {
-            input.next();  
-            return new Return(input);
-        }
-        
-        else {
-            throw new Exception("SYNTAX ERROR: Unknown statement type (" + first + ")");
-        }
+    /**
+     * Records what executing the statement may do, for the purity analysis of the
+     * enclosing function.  By default, a statement is assumed to have side effects.
+     *   @param check the analysis collecting the effects
+     */
+    public void checkPurity(PurityCheck check) {
+        check.markImpure();
     }
 }
-
-
-
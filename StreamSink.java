@@ -0,0 +1,38 @@
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Class for an output sink that sends its output to a stream, e.g., System.out.
+ *   The stream is written to once per buffer (rather than once per print), so
+ *   print-heavy programs make few (synchronized) calls on System.out.
+ *   @version 10/18/26
+ */
+public class StreamSink extends OutputSink {
+    private OutputStream out;
+
+    /**
+     * Constructs a sink writing to System.out.  The buffer size is set with
+     * -Dsilly.output.buffer=N (default 8192 bytes); -Dsilly.output.flush=line
+     * sends each line on as it is completed.
+     */
+    public StreamSink() {
+        this(System.out, Integer.getInteger("silly.output.buffer", OutputSink.DEFAULT_SIZE),
+             "line".equals(System.getProperty("silly.output.flush")) ? OutputSink.Flush.LINE : OutputSink.Flush.FULL);
+    }
+
+    /**
+     * Constructs a sink writing to a stream.
+     *   @param out the stream
+     *   @param size the size of the buffer (in bytes)
+     *   @param policy when the buffer is sent on, besides when it is full
+     */
+    public StreamSink(OutputStream out, int size, OutputSink.Flush policy) {
+        super(size, policy);
+        this.out = out;
+    }
+
+    protected void drain(byte[] bytes, int length) throws IOException {
+        this.out.write(bytes, 0, length);
+        this.out.flush();
+    }
+}
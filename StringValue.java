@@ -1,31 +1,29 @@
-import java.util.ArrayList;
-import java.util.List;
-
 /**
- * Class that represents a string value.
+ * Class that represents a string value.  The characters are stored in a Rope of
+ *   text, so strings can be concatenated without copying; the flat String is
+ *   built (once) only when it is needed, e.g., to print or compare the string.
+ *   Equality and hash codes use the flat String (which caches its hash code).
  *  @author Santiago Lizarraga
  *   @version 2/27/25
  */
 public class StringValue extends ListValue {
+    private String text;
+
     /**
      * Constructs a string value.
      *   @param str the string being stored
      */
     public StringValue(String str) {
-        super(convertToList(str)); 
+        super(Rope.of(str));
+        this.text = str;
     }
 
     /**
-     * Converts a string into a list of CharacterValue objects.
-     *   @param str the string to convert
-     *   @return an ArrayList of CharacterValue objects
+     * Constructs a string value.
+     *   @param chars the rope of characters being stored
      */
-    private static ArrayList<DataValue> convertToList(String str) {
-        ArrayList<DataValue> charList = new ArrayList<>();
-        for (char c : str.toCharArray()) {
-            charList.add(new CharValue(c)); 
-        }
-        return charList;
+    public StringValue(Rope chars) {
+        super(chars);
     }
 
     /**
@@ -38,18 +36,71 @@ public class StringValue extends ListValue {
     }
 
     /**
-     * Converts the stored list of characters back into a string.
-     *   @return a String representation of the stored value
+     * Retrieves the character at a specific index.
+     *   @param index the index of the character
+     *   @return the (shared) CharValue for that character
+     */
+    @Override
+    public DataValue get(int index) {
+        if (this.text != null) {
+            return CharValue.of(this.text.charAt(index));
+        }
+        return super.get(index);
+    }
+
+    /**
+     * Comparison method for StringValues (compares the characters directly).
+     *   @param other the value being compared with
+     *   @return negative if <, 0 if ==, positive if >
+     */
+    @Override
+    public int compareTo(DataValue other) {
+        if (other instanceof StringValue) {
+            return this.toString().compareTo(other.toString());
+        }
+        return super.compareTo(other);
+    }
+
+    /**
+     * Compares the characters of two strings of the same length.
+     *   @param that the other string
+     *   @return true if the characters are equal
+     */
+    @Override
+    protected boolean sameItems(ListValue that) {
+        return this.toString().equals(that.toString());
+    }
+
+    @Override
+    public int hashCode() {
+        return this.toString().hashCode();
+    }
+
+    /**
+     * Writes the characters to an output sink (from the rope, if the flat String
+     * has not been built).
+     *   @param out the sink
+     */
+    @Override
+    public void writeTo(OutputSink out) {
+        if (this.text != null) {
+            out.write(this.text);
+        } else {
+            this.value.writeTo(out);
+        }
+    }
+
+    /**
+     * Accesses the stored string.
+     *   @return the String representation of the stored value
      */
     @Override
     public String toString() {
-        StringBuilder sb = new StringBuilder();
-        for (DataValue v : (List<DataValue>) getValue()) {
-            sb.append(v.toString()); 
+        if (this.text == null) {
+            StringBuilder sb = new StringBuilder(this.size());
+            this.value.appendTo(sb);
+            this.text = sb.toString();
         }
-        return sb.toString();
+        return this.text;
     }
-    
- 
 }
-
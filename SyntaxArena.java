@@ -0,0 +1,212 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Class that stores the syntax tree of a statement in a flat arena: parallel
+ *   arrays hold each node's kind, first child, next sibling and token (an index
+ *   into the tokens read), so a parse allocates no objects per node and the
+ *   arrays are reused for the next statement.
+ *
+ *   A node is always added after its parent, so the tree can be turned into
+ *   Statement and Expression objects by a single backwards pass over the arena
+ *   (children before parents), without recursion.
+ *   @version 10/18/26
+ */
+public class SyntaxArena {
+    public static final int PRINT = 0, IF = 1, WHILE = 2, REPEAT = 3, COMPOUND = 4, FUNC = 5, MEMO_FUNC = 6,
+        PARAM = 7, ASSIGN = 8, RETURN = 9, LITERAL = 10, VARIABLE = 11, OPERATION = 12, LIST = 13;
+    public static final int NONE = -1;
+
+    private int[] kind;
+    private int[] token;
+    private int[] firstChild;
+    private int[] lastChild;
+    private int[] nextSibling;
+    private int count;
+    private Token[] tokens;
+    private int tokenCount;
+    private Object[] built;
+
+    public SyntaxArena() {
+        this.kind = new int[64];
+        this.token = new int[64];
+        this.firstChild = new int[64];
+        this.lastChild = new int[64];
+        this.nextSibling = new int[64];
+        this.tokens = new Token[64];
+        this.built = new Object[64];
+    }
+
+    /**
+     * Empties the arena (keeping its arrays) for the next statement.
+     */
+    public void clear() {
+        this.count = 0;
+        Arrays.fill(this.tokens, 0, this.tokenCount, null);
+        this.tokenCount = 0;
+    }
+
+    /**
+     * Records a token read by the parser.
+     *   @param tok the token
+     *   @return its index
+     */
+    public int addToken(Token tok) {
+        if (this.tokenCount == this.tokens.length) {
+            this.tokens = Arrays.copyOf(this.tokens, 2 * this.tokenCount);
+        }
+        this.tokens[this.tokenCount] = tok;
+        return this.tokenCount++;
+    }
+
+    /**
+     * Adds a node, as the last child of its parent.
+     *   @param parent the parent node (or NONE for the root)
+     *   @param nodeKind the kind of node (e.g., SyntaxArena.IF)
+     *   @param tokenIndex the index of its token (or NONE)
+     *   @return the new node
+     */
+    public int addNode(int parent, int nodeKind, int tokenIndex) {
+        if (this.count == this.kind.length) {
+            int size = 2 * this.count;
+            this.kind = Arrays.copyOf(this.kind, size);
+            this.token = Arrays.copyOf(this.token, size);
+            this.firstChild = Arrays.copyOf(this.firstChild, size);
+            this.lastChild = Arrays.copyOf(this.lastChild, size);
+            this.nextSibling = Arrays.copyOf(this.nextSibling, size);
+        }
+        int node = this.count++;
+        this.kind[node] = nodeKind;
+        this.token[node] = tokenIndex;
+        this.firstChild[node] = NONE;
+        this.lastChild[node] = NONE;
+        this.nextSibling[node] = NONE;
+        if (parent != NONE) {
+            if (this.firstChild[parent] == NONE) {
+                this.firstChild[parent] = node;
+            } else {
+                this.nextSibling[this.lastChild[parent]] = node;
+            }
+            this.lastChild[parent] = node;
+        }
+        return node;
+    }
+
+    /**
+     * Determines whether nodes of a kind have a token (e.g., a variable's name).
+     *   @param nodeKind the kind of node
+     *   @return true if they have a token; else, false
+     */
+    public static boolean hasToken(int nodeKind) {
+        return nodeKind == FUNC || nodeKind == MEMO_FUNC || nodeKind == PARAM || nodeKind == ASSIGN ||
+               nodeKind == LITERAL || nodeKind == VARIABLE || nodeKind == OPERATION;
+    }
+
+    public int size() {
+        return this.count;
+    }
+
+    public int getKind(int node) {
+        return this.kind[node];
+    }
+
+    public int getFirstChild(int node) {
+        return this.firstChild[node];
+    }
+
+    public int getNextSibling(int node) {
+        return this.nextSibling[node];
+    }
+
+    /**
+     * Accesses the token of a node.
+     *   @param node the node
+     *   @return its token (null if the node has none, e.g., a compound statement)
+     */
+    public Token getToken(int node) {
+        int index = this.token[node];
+        return (index == NONE ? null : this.tokens[index]);
+    }
+
+    /**
+     * Builds the Statement (and Expression) objects for the tree rooted at the
+     * first node.
+     *   @return the statement
+     */
+    public Statement build() throws Exception {
+        if (this.built.length < this.count) {
+            this.built = new Object[this.kind.length];
+        }
+        Object[] built = this.built;
+        try {
+            for (int node = this.count - 1; node >= 0; node--) {
+                built[node] = this.buildNode(node, built);
+            }
+            return (Statement) built[0];
+        } finally {
+            Arrays.fill(built, 0, this.count, null);
+        }
+    }
+
+    private Object buildNode(int node, Object[] built) throws Exception {
+        int first = this.firstChild[node];
+        switch (this.kind[node]) {
+            case LITERAL:
+                return new Literal(this.getToken(node));
+            case VARIABLE:
+                return new VarRef(this.getToken(node));
+            case PARAM:
+                return this.getToken(node).toString();
+            case OPERATION:
+                return Expression.operation(this.getToken(node), this.childExpressions(node, built));
+            case LIST:
+                return Expression.list(this.childExpressions(node, built));
+            case PRINT:
+                return new Print((Expression) built[first]);
+            case ASSIGN:
+                return new Assignment(this.getToken(node), (Expression) built[first]);
+            case RETURN:
+                return new Return((Expression) built[first]);
+            case IF: {
+                int ifBody = this.nextSibling[first];
+                return new If((Expression) built[first], (Compound) built[ifBody],
+                              (Compound) built[this.nextSibling[ifBody]]);
+            }
+            case WHILE:
+                return new While((Expression) built[first], (Compound) built[this.nextSibling[first]]);
+            case REPEAT:
+                return new Repeat((Expression) built[first], (Statement) built[this.nextSibling[first]]);
+            case COMPOUND: {
+                ArrayList<Statement> stmts = new ArrayList<Statement>();
+                for (int child = first; child != NONE; child = this.nextSibling[child]) {
+                    stmts.add((Statement) built[child]);
+                }
+                return new Compound(stmts);
+            }
+            default: {
+                ArrayList<String> params = new ArrayList<String>();
+                int child = first;
+                while (this.kind[child] == PARAM) {
+                    params.add((String) built[child]);
+                    child = this.nextSibling[child];
+                }
+                return new FunctionDecl(this.getToken(node).toString(), params,
+                                        new ArrayList<>(((Compound) built[child]).getStatements()),
+                                        this.kind[node] == MEMO_FUNC);
+            }
+        }
+    }
+
+    private Expression[] childExpressions(int node, Object[] built) {
+        int n = 0;
+        for (int child = this.firstChild[node]; child != NONE; child = this.nextSibling[child]) {
+            n++;
+        }
+        Expression[] exprs = new Expression[n];
+        int i = 0;
+        for (int child = this.firstChild[node]; child != NONE; child = this.nextSibling[child]) {
+            exprs[i++] = (Expression) built[child];
+        }
+        return exprs;
+    }
+}
@@ -0,0 +1,49 @@
+/**
+ * Class that signals a function call in tail position, e.g., return (loop (+ i 1)).
+ *   The return statement looks up the function and evaluates the arguments into a
+ *   new frame, then hands this signal back (as the result of execute) to the Call
+ *   that is running the current function, which runs the called function in place
+ *   of the current one.  Each MemorySpace has a single TailCall that is reused; it
+ *   is never seen by a program as a value.
+ *   @version 10/18/26
+ */
+public class TailCall implements DataValue {
+    private FunctionDecl function;
+    private DataValue[] frame;
+
+    /**
+     * Sets up the signal for a call.
+     *   @param function the function to call
+     *   @param frame its frame, with the arguments stored
+     *   @return this signal
+     */
+    public TailCall set(FunctionDecl function, DataValue[] frame) {
+        this.function = function;
+        this.frame = frame;
+        return this;
+    }
+
+    public FunctionDecl getFunction() {
+        return this.function;
+    }
+
+    public DataValue[] getFrame() {
+        return this.frame;
+    }
+
+    public Object getValue() {
+        return this;
+    }
+
+    public DataValue.Type getType() {
+        throw new IllegalStateException("a tail call is not a value");
+    }
+
+    public String toString() {
+        return "tail call to " + this.function.getName();
+    }
+
+    public int compareTo(DataValue other) {
+        throw new IllegalStateException("a tail call is not a value");
+    }
+}
@@ -1,4 +1,5 @@
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
 
 /**
@@ -18,7 +19,11 @@ public class Token {
     public static enum Type { UNKNOWN, DELIM, KEYWORD, IDENTIFIER, BOOL_FUNC, MATH_FUNC, SEQ_FUNC,  
                               NUM_LITERAL, BOOL_LITERAL, CHAR_LITERAL, STR_LITERAL, FUNC_CALL } 
 
-    private String strVal;
+    private static final HashMap<String, Token> vocabulary = Token.buildVocabulary();
+
+    private final String strVal;
+    private final Token.Type type;
+    private final int hash;
 
     /**
      * Constructs a token out of the given string.
@@ -26,6 +31,34 @@ public class Token {
      */
     public Token(String str) {
         this.strVal = str;
+        this.type = Token.classify(str);
+        this.hash = str.hashCode();
+    }
+
+    /**
+     * Returns the token for the given string.  The tokens of the language itself
+     * (delimiters, keywords, operators, built-in functions and Boolean literals)
+     * are shared; any other token (an identifier or literal) is created anew, so
+     * the shared table never grows with the programs read.  (A TokenStream reuses
+     * the tokens it has already created.)
+     * @param str the string value of the token
+     * @return the token with that string value
+     */
+    public static Token intern(String str) {
+        Token tok = Token.vocabulary.get(str);
+        return (tok != null ? tok : new Token(str));
+    }
+
+    private static HashMap<String, Token> buildVocabulary() {
+        HashMap<String, Token> vocab = new HashMap<String, Token>();
+        for (List<String> words : Arrays.asList(Token.delims, Token.booleans, Token.mathFuncs,
+                                                Token.boolFuncs, Token.seqFuncs, Token.keywords)) {
+            for (String word : words) {
+                vocab.put(word, new Token(word));
+            }
+        }
+        vocab.put("", new Token(""));
+        return vocab;
     }
 
     /**
@@ -33,45 +66,57 @@ public class Token {
      * @return the token type (e.g., Token.Type.IDENTIFIER)
      */
     public Token.Type getType() {
-        if (Character.isDigit(this.strVal.charAt(0)) || 
-            (this.strVal.charAt(0) == '-' && this.strVal.length() > 1 && Character.isDigit(this.strVal.charAt(1)))) {
+        return this.type;
+    }
+
+    /**
+     * Classifies a token string (done once, when the token is constructed).
+     * @param strVal the string value of the token
+     * @return the token type (e.g., Token.Type.IDENTIFIER)
+     */
+    private static Token.Type classify(String strVal) {
+        if (strVal.isEmpty()) {
+            return Token.Type.UNKNOWN;
+        }
+        if (Character.isDigit(strVal.charAt(0)) || 
+            (strVal.charAt(0) == '-' && strVal.length() > 1 && Character.isDigit(strVal.charAt(1)))) {
             try {
                 Double.parseDouble(strVal);
                 return Token.Type.NUM_LITERAL;
             } catch (Exception e) {
                 return Token.Type.UNKNOWN;
             }
-        } else if (Token.delims.contains(this.strVal)) {
+        } else if (Token.delims.contains(strVal)) {
             return Token.Type.DELIM;
-        } else if (Token.keywords.contains(this.strVal)) {
+        } else if (Token.keywords.contains(strVal)) {
             return Token.Type.KEYWORD;
-        } else if (Token.boolFuncs.contains(this.strVal)) {
+        } else if (Token.boolFuncs.contains(strVal)) {
             return Token.Type.BOOL_FUNC;
-        } else if (Token.mathFuncs.contains(this.strVal)) {
+        } else if (Token.mathFuncs.contains(strVal)) {
             return Token.Type.MATH_FUNC;
-        } else if (Token.seqFuncs.contains(this.strVal)) {
+        } else if (Token.seqFuncs.contains(strVal)) {
             return Token.Type.SEQ_FUNC;
-        } else if (Token.booleans.contains(this.strVal)) {
+        } else if (Token.booleans.contains(strVal)) {
             return Token.Type.BOOL_LITERAL;
-        } else if (this.strVal.matches("[a-zA-Z_][a-zA-Z0-9_]*\\(.*\\)")) { 
+        } else if (strVal.matches("[a-zA-Z_][a-zA-Z0-9_]*\\(.*\\)")) { 
             return Token.Type.FUNC_CALL;
-        } else if (Character.isLetter(this.strVal.charAt(0))) {
-            for (int i = 1; i < this.strVal.length(); i++) {
-                if (!Character.isLetterOrDigit(this.strVal.charAt(i))) {
+        } else if (Character.isLetter(strVal.charAt(0))) {
+            for (int i = 1; i < strVal.length(); i++) {
+                if (!Character.isLetterOrDigit(strVal.charAt(i))) {
                     return Token.Type.UNKNOWN;
                 }
             }
             return Token.Type.IDENTIFIER;
-        } else if (this.strVal.charAt(0) == '"') {
-            if (this.strVal.length() == 1 || this.strVal.charAt(this.strVal.length() - 1) != '"') {
+        } else if (strVal.charAt(0) == '"') {
+            if (strVal.length() == 1 || strVal.charAt(strVal.length() - 1) != '"') {
                 return Token.Type.UNKNOWN;
             }
             return Token.Type.STR_LITERAL;
-        } else if (this.strVal.charAt(0) == '\'') {
-            if (this.strVal.length() == 3 && this.strVal.charAt(2) == '\'') { 
+        } else if (strVal.charAt(0) == '\'') {
+            if (strVal.length() == 3 && strVal.charAt(2) == '\'') { 
                 return Token.Type.CHAR_LITERAL;
             } else { 
-                if (this.strVal.length() == 1 || this.strVal.charAt(this.strVal.length() - 1) != '\'') {
+                if (strVal.length() == 1 || strVal.charAt(strVal.length() - 1) != '\'') {
                     return Token.Type.UNKNOWN;
                 }
                 return Token.Type.STR_LITERAL;
@@ -87,12 +132,12 @@ public class Token {
      * @return whether the two tokens represent the same string value
      */
     @Override
-public boolean equals(Object obj) {
-    if (this == obj) return true;
-    if (obj == null || getClass() != obj.getClass()) return false;
-    Token other = (Token) obj;
-    return this.strVal.equals(other.strVal);
-}
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null || getClass() != obj.getClass()) return false;
+        Token other = (Token) obj;
+        return this.hash == other.hash && this.strVal.equals(other.strVal);
+    }
 
     /**
      * Converts the token to its string representation.
@@ -107,8 +152,8 @@ public boolean equals(Object obj) {
      * @return a hash code for the Token
      */
     @Override
-public int hashCode() {
-    return this.strVal.hashCode();
-}
+    public int hashCode() {
+        return this.hash;
+    }
 }
 
@@ -1,60 +1,79 @@
-import java.util.Scanner;
-import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.Arrays;
 
 /**
  * Class for reading SILLY language tokens from an input stream, either
  * standard input or a file.
+ *   A file is memory-mapped and lexed in place, as UTF-8 bytes: the lexer finds
+ *   the span (offset and length) of the next token, and the Token for a span is
+ *   only built when the token is looked at.  Spans are matched against the tokens
+ *   already seen without creating a String, so a repeated token costs no allocation.
+ *   Standard input is read (and lexed the same way) one line at a time.
+ *
+ *   Tokens are separated by whitespace and delimiters ({ } ( ) [ ]); a string
+ *   literal runs to its closing quote (it may contain spaces), and a character
+ *   literal is a quote, one character and a quote.
  *   @author Dave Reed
  *   @version 1/20/25
  */
 public class TokenStream {
-    private Scanner input;
+    private InputStream input;
+    private ByteBuffer source;
+    private int pos;
+    private int end;
+    private int tokStart;
+    private int tokLength;
     private Token nextToken;
-    private String buffer;
+    private Token[] seen;
+    private int seenCount;
 
     /**
      * Constructs a TokenStream connected to System.in.
      */
     public TokenStream() {
-        this.input = new Scanner(System.in);
-        this.buffer = "";
+        this.input = System.in;
+        this.source = ByteBuffer.wrap(new byte[256]);
+        this.seen = new Token[64];
     }
 
     /**
      * Constructs a TokenStream connected to a file.
      *   @param filename the file to read from
      */
-    public TokenStream(String filename) throws java.io.FileNotFoundException {
-        this.input = new Scanner(new File(filename));
-        this.buffer = "";
+    public TokenStream(String filename) throws IOException {
+        try (FileChannel channel = FileChannel.open(Paths.get(filename))) {
+            this.source = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        this.end = this.source.limit();
+        this.seen = new Token[64];
+    }
+
+    /**
+     * Constructs a TokenStream reading source code held in memory.
+     *   @param source the UTF-8 encoded source (read from its position to its limit)
+     */
+    public TokenStream(ByteBuffer source) {
+        this.source = source.slice();
+        this.end = this.source.limit();
+        this.seen = new Token[64];
     }
 
     /**
      * Returns the next token in the TokenStream (without removing it).
-     *   @return the next token
+     *   @return the next token (an empty, unknown token at the end of the input)
      */
     public Token lookAhead() {
         if (this.nextToken == null) {
-            if (this.buffer.equals("") && this.input.hasNext()) {
-                this.buffer = this.input.next().strip();
-            }
-
-            int index = 1;
-            if (!Token.delims.contains(this.buffer.substring(0, 1))) {
-                if (this.buffer.charAt(0) == '"') {
-                    while (index < this.buffer.length() && this.buffer.charAt(index) != '"') {
-                        index++;
-                    }
-                    index++;
-                } else if (this.buffer.charAt(0) == '\'') {
-                    index = 3; 
-                } else {
-                    while (index < this.buffer.length() && !Token.delims.contains(this.buffer.substring(index, index + 1))) {
-                        index++;
-                    }
-                }
+            if (this.scan()) {
+                this.nextToken = this.materialize(this.tokStart, this.tokLength);
+            } else {
+                this.nextToken = Token.intern("");
             }
-            this.nextToken = new Token(this.buffer.substring(0, index).strip());
         }
         return this.nextToken;
     }
@@ -66,7 +85,9 @@ public class TokenStream {
     public Token next() {
         Token safe = this.lookAhead();
         this.nextToken = null;
-        this.buffer = this.buffer.substring(safe.toString().length()).strip();
+        this.pos = this.tokStart + this.tokLength;
+        this.tokStart = this.pos;
+        this.tokLength = 0;
         return safe;
     }
 
@@ -75,6 +96,197 @@ public class TokenStream {
      *   @return true if tokens remaining, else false
      */
     public boolean hasNext() {
-        return (this.nextToken != null || !this.buffer.equals("") || this.input.hasNext());
+        return (this.nextToken != null || this.skipWhitespace());
+    }
+
+    /**
+     * Finds the span of the next token.
+     *   @return true if there is a token; false at the end of the input
+     */
+    private boolean scan() {
+        if (!this.skipWhitespace()) {
+            return false;
+        }
+        byte first = this.source.get(this.pos);
+        int length = 1;
+        if (first == '"') {
+            while (this.available(length + 1) && this.source.get(this.pos + length) != '"') {
+                length++;
+            }
+            length = Math.min(length + 1, this.end - this.pos);
+        } else if (first == '\'') {
+            int charLength = (this.available(2) ? TokenStream.utf8Length(this.source.get(this.pos + 1)) : 0);
+            length = 2 + charLength;
+            this.available(length);
+            length = Math.min(length, this.end - this.pos);
+        } else if (!TokenStream.isDelim(first)) {
+            while (this.pos + length < this.end && !TokenStream.isSeparator(this.source.get(this.pos + length))) {
+                length++;
+            }
+        }
+        this.tokStart = this.pos;
+        this.tokLength = length;
+        return true;
+    }
+
+    /**
+     * Skips the whitespace before the next token (reading more input if needed).
+     *   @return true if there is more input; false at the end of the input
+     */
+    private boolean skipWhitespace() {
+        while (this.available(1)) {
+            if (!TokenStream.isWhitespace(this.source.get(this.pos))) {
+                return true;
+            }
+            this.pos++;
+        }
+        return false;
+    }
+
+    /**
+     * Makes sure the specified number of unread bytes is available, reading more
+     * lines from standard input if necessary.
+     *   @param count the number of bytes needed (from the current position)
+     *   @return true if they are available; false if the input ends first
+     */
+    private boolean available(int count) {
+        while (this.end - this.pos < count) {
+            if (!this.readLine()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Appends the next line of standard input to the buffer, dropping the bytes
+     * already consumed.
+     *   @return true if a line was read; false at the end of the input
+     */
+    private boolean readLine() {
+        if (this.input == null) {
+            return false;
+        }
+        byte[] bytes = this.source.array();
+        int kept = this.end - this.pos;
+        System.arraycopy(bytes, this.pos, bytes, 0, kept);
+        this.tokStart -= this.pos;
+        this.pos = 0;
+        this.end = kept;
+        try {
+            int b = this.input.read();
+            if (b < 0) {
+                return false;
+            }
+            while (b >= 0) {
+                if (this.end == bytes.length) {
+                    bytes = Arrays.copyOf(bytes, 2 * bytes.length);
+                    this.source = ByteBuffer.wrap(bytes);
+                }
+                bytes[this.end++] = (byte) b;
+                if (b == '\n') {
+                    break;
+                }
+                b = this.input.read();
+            }
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Builds (or finds) the token for a span of the input.  ASCII spans are looked
+     * up in the tokens already seen by this stream before any String is created.
+     *   @param start the offset of the span
+     *   @param length the length of the span (in bytes)
+     *   @return the token
+     */
+    private Token materialize(int start, int length) {
+        int hash = 0;
+        for (int i = 0; i < length; i++) {
+            byte b = this.source.get(start + i);
+            if (b < 0) {
+                return Token.intern(this.decode(start, length));
+            }
+            hash = 31 * hash + b;
+        }
+        int mask = this.seen.length - 1;
+        int index = (hash ^ (hash >>> 16)) & mask;
+        while (this.seen[index] != null) {
+            Token tok = this.seen[index];
+            if (tok.hashCode() == hash && this.matches(tok.toString(), start, length)) {
+                return tok;
+            }
+            index = (index + 1) & mask;
+        }
+        Token tok = Token.intern(this.decode(start, length));
+        this.seen[index] = tok;
+        if (++this.seenCount * 2 > this.seen.length) {
+            this.rehash();
+        }
+        return tok;
+    }
+
+    private boolean matches(String str, int start, int length) {
+        if (str.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (str.charAt(i) != this.source.get(start + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void rehash() {
+        Token[] old = this.seen;
+        this.seen = new Token[2 * old.length];
+        int mask = this.seen.length - 1;
+        for (Token tok : old) {
+            if (tok != null) {
+                int hash = tok.hashCode();
+                int index = (hash ^ (hash >>> 16)) & mask;
+                while (this.seen[index] != null) {
+                    index = (index + 1) & mask;
+                }
+                this.seen[index] = tok;
+            }
+        }
+    }
+
+    private String decode(int start, int length) {
+        byte[] bytes = new byte[length];
+        this.source.get(start, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static boolean isDelim(byte b) {
+        return b == '(' || b == ')' || b == '{' || b == '}' || b == '[' || b == ']';
+    }
+
+    private static boolean isWhitespace(byte b) {
+        return b >= 0 && Character.isWhitespace(b);
+    }
+
+    private static boolean isSeparator(byte b) {
+        return TokenStream.isDelim(b) || TokenStream.isWhitespace(b);
+    }
+
+    /**
+     * Determines the length of a UTF-8 encoded character from its first byte.
+     *   @param lead the first byte
+     *   @return the number of bytes in the encoding
+     */
+    private static int utf8Length(byte lead) {
+        if ((lead & 0xE0) == 0xC0) {
+            return 2;
+        } else if ((lead & 0xF0) == 0xE0) {
+            return 3;
+        } else if ((lead & 0xF8) == 0xF0) {
+            return 4;
+        }
+        return 1;
     }
 }
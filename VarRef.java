@@ -0,0 +1,70 @@
+/**
+ * Derived class that represents a variable reference in an expression.
+ *   @version 10/18/26
+ */
+public class VarRef extends Expression {
+    private Token vbl;
+    private int depth;
+    private int slot;
+
+    public VarRef(Token vbl) {
+        this.vbl = vbl;
+    }
+
+    /**
+     * Resolves the variable to its lexical address (a local slot if it is declared
+     * in an enclosing block of the current frame; otherwise, a global slot).
+     *   @param r the resolver for the enclosing scope
+     *   @return no operands
+     */
+    protected Expression[] resolveNode(Resolver r) {
+        this.slot = r.lookupLocal(this.vbl);
+        if (this.slot >= 0) {
+            this.depth = Resolver.LOCAL;
+        } else {
+            this.depth = Resolver.GLOBAL;
+            this.slot = r.lookupGlobal(this.vbl);
+        }
+        return this.getOperands();
+    }
+
+    /**
+     * Evaluates the current variable reference.
+     *   @return the value currently stored in the variable
+     */
+    public DataValue evaluate(MemorySpace mem) throws Exception {
+        DataValue val = mem.lookupValue(this.depth, this.slot);
+        if (val == null) {
+            throw new Exception("RUNTIME ERROR: variable " + this.vbl + " is undeclared.");
+        }
+        return val;
+    }
+
+    /**
+     * Records a read of a global variable (the function then depends on more than
+     * its arguments).
+     *   @param check the analysis collecting the effects
+     */
+    public void checkPurity(PurityCheck check) {
+        if (this.depth != Resolver.LOCAL) {
+            check.markImpure();
+        }
+    }
+
+    public void compile(JitCompiler jit) {
+        jit.emitLoad(this.depth, this.slot, this.vbl);
+    }
+
+    public void compile(VmCompiler vm) {
+        int op = (this.depth == Resolver.LOCAL ? VmCompiler.LOAD_LOCAL : VmCompiler.LOAD_GLOBAL);
+        vm.emit(op, this.slot, vm.constant(this.vbl));
+    }
+
+    /**
+     * Converts the current variable reference into a String.
+     *   @return the variable name
+     */
+    public String toString() {
+        return this.vbl.toString();
+    }
+}
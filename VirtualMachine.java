@@ -0,0 +1,374 @@
+import java.util.Arrays;
+
+/**
+ * Class that executes VmCode with a single dispatch loop over the instruction
+ *   array, using a value stack for intermediate results.  Function calls do not
+ *   recurse in Java: the caller's code, position and frame are saved on the
+ *   machine's own call stack and the loop continues in the function's code.
+ *   For a call to a memoized function, the cache and key are saved with the call,
+ *   so the result can be cached when the function returns.  If the run has a
+ *   Budget, each backward jump (a loop iteration) and each call is charged to it.
+ *   @version 10/18/26
+ */
+public class VirtualMachine {
+    private MemorySpace mem;
+    private Budget budget;
+    private DataValue[] stack;
+    private int sp;
+    private int[] counters;
+    private int csp;
+    private VmCode[] callCode;
+    private int[] callPc;
+    private int[] callSp;
+    private int[] callCsp;
+    private DataValue[][] callFrame;
+    private DataValue[][] calleeFrame;
+    private MemoCache[] callMemo;
+    private MemoCache.Key[] callKey;
+    private int fp;
+
+    private VirtualMachine(MemorySpace mem) {
+        this.mem = mem;
+        this.budget = mem.getBudget();
+        this.stack = new DataValue[32];
+        this.counters = new int[8];
+        this.callCode = new VmCode[16];
+        this.callPc = new int[16];
+        this.callSp = new int[16];
+        this.callCsp = new int[16];
+        this.callFrame = new DataValue[16][];
+        this.calleeFrame = new DataValue[16][];
+        this.callMemo = new MemoCache[16];
+        this.callKey = new MemoCache.Key[16];
+    }
+
+    /**
+     * Executes a compiled top-level statement.
+     *   @param unit the compiled statement
+     *   @param mem the memory space to execute in
+     *   @return the value of a return statement that ended the execution, or null
+     */
+    public static DataValue run(VmCode unit, MemorySpace mem) throws Exception {
+        VirtualMachine vm = new VirtualMachine(mem);
+        try {
+            return vm.loop(unit);
+        } finally {
+            if (vm.fp > 0) {
+                mem.exitFrame(vm.callFrame[0]);
+            }
+            if (vm.budget != null) {
+                for (int i = 0; i < vm.fp; i++) {
+                    vm.budget.exit();
+                }
+            }
+        }
+    }
+
+    private void push(DataValue val) {
+        if (this.sp == this.stack.length) {
+            this.stack = Arrays.copyOf(this.stack, 2 * this.sp);
+        }
+        this.stack[this.sp++] = val;
+    }
+
+    private DataValue pop() {
+        return this.stack[--this.sp];
+    }
+
+    private DataValue peek() {
+        return this.stack[this.sp - 1];
+    }
+
+    private void pushCall(VmCode current, int pc, DataValue[] frame) {
+        if (this.fp == this.callCode.length) {
+            int size = 2 * this.fp;
+            this.callCode = Arrays.copyOf(this.callCode, size);
+            this.callPc = Arrays.copyOf(this.callPc, size);
+            this.callSp = Arrays.copyOf(this.callSp, size);
+            this.callCsp = Arrays.copyOf(this.callCsp, size);
+            this.callFrame = Arrays.copyOf(this.callFrame, size);
+            this.calleeFrame = Arrays.copyOf(this.calleeFrame, size);
+            this.callMemo = Arrays.copyOf(this.callMemo, size);
+            this.callKey = Arrays.copyOf(this.callKey, size);
+        }
+        this.callCode[this.fp] = current;
+        this.callPc[this.fp] = pc;
+        this.callSp[this.fp] = this.sp;
+        this.callCsp[this.fp] = this.csp;
+        this.callFrame[this.fp] = this.mem.enterFrame(frame);
+        this.calleeFrame[this.fp] = frame;
+        this.fp++;
+    }
+
+    private DataValue[] popArguments(FunctionDecl function, int argc) {
+        DataValue[] frame = this.mem.acquireFrame(function.getFrameSize());
+        this.sp -= argc;
+        System.arraycopy(this.stack, this.sp, frame, 0, argc);
+        return frame;
+    }
+
+    private DataValue loop(VmCode current) throws Exception {
+        int[] code = current.code;
+        Object[] consts = current.constants;
+        int pc = 0;
+        while (true) {
+            int op = code[pc++];
+            switch (op) {
+                case VmCompiler.HALT:
+                    return null;
+                case VmCompiler.CONST:
+                    this.push((DataValue) consts[code[pc++]]);
+                    break;
+                case VmCompiler.LOAD_LOCAL:
+                case VmCompiler.LOAD_GLOBAL: {
+                    int depth = (op == VmCompiler.LOAD_LOCAL ? Resolver.LOCAL : Resolver.GLOBAL);
+                    DataValue val = this.mem.lookupValue(depth, code[pc++]);
+                    if (val == null) {
+                        throw new Exception("RUNTIME ERROR: variable " + consts[code[pc]] + " is undeclared.");
+                    }
+                    pc++;
+                    this.push(val);
+                    break;
+                }
+                case VmCompiler.STORE_LOCAL:
+                    this.mem.storeValue(Resolver.LOCAL, code[pc++], this.pop());
+                    break;
+                case VmCompiler.STORE_GLOBAL:
+                    this.mem.storeValue(Resolver.GLOBAL, code[pc++], this.pop());
+                    break;
+                case VmCompiler.CLEAR:
+                    this.mem.clearFrame(code[pc], code[pc + 1]);
+                    pc += 2;
+                    break;
+                case VmCompiler.POP:
+                    this.sp--;
+                    break;
+                case VmCompiler.PRINT:
+                    this.mem.getOutput().println(this.pop());
+                    break;
+                case VmCompiler.JUMP:
+                    if (code[pc] < pc && this.budget != null) {
+                        this.budget.tick();
+                    }
+                    pc = code[pc];
+                    break;
+                case VmCompiler.JUMP_IF_FALSE:
+                    if (JitRuntime.toBoolean(this.pop(), (String) consts[code[pc + 1]])) {
+                        pc += 2;
+                    } else {
+                        pc = code[pc];
+                    }
+                    break;
+                case VmCompiler.FAIL:
+                    throw new Exception((String) consts[code[pc]]);
+                case VmCompiler.CHECK_NUMBER:
+                    if (this.peek().getType() != DataValue.Type.NUMBER) {
+                        throw new Exception("RUNTIME ERROR: Number value expected.");
+                    }
+                    break;
+                case VmCompiler.CHECK_BOOLEAN:
+                    if (this.peek().getType() != DataValue.Type.BOOLEAN) {
+                        throw new Exception("RUNTIME ERROR: Boolean value expected.");
+                    }
+                    break;
+                case VmCompiler.CHECK_SEQUENCE:
+                    if (this.peek().getType() != DataValue.Type.LIST && this.peek().getType() != DataValue.Type.STRING) {
+                        throw new Exception("RUNTIME ERROR: List or string value expected.");
+                    }
+                    break;
+                case VmCompiler.CHECK_CAT:
+                    if (this.peek().getType() != DataValue.Type.LIST && this.peek().getType() != DataValue.Type.STRING) {
+                        throw new Exception("RUNTIME ERROR: Type mismatch in cat expression.");
+                    }
+                    break;
+                case VmCompiler.ADD:
+                case VmCompiler.MUL:
+                case VmCompiler.DIV: {
+                    int n = code[pc++];
+                    this.sp -= n;
+                    double returnVal = ((NumberValue) this.stack[this.sp]).doubleValue();
+                    for (int i = 1; i < n; i++) {
+                        double num = ((NumberValue) this.stack[this.sp + i]).doubleValue();
+                        if (op == VmCompiler.ADD) {
+                            returnVal += num;
+                        } else if (op == VmCompiler.MUL) {
+                            returnVal *= num;
+                        } else {
+                            returnVal /= num;
+                        }
+                    }
+                    this.push(NumberValue.of(returnVal));
+                    break;
+                }
+                case VmCompiler.NOT: {
+                    DataValue val = this.pop();
+                    if (val.getType() != DataValue.Type.BOOLEAN) {
+                        throw new Exception("RUNTIME ERROR: Boolean value expected in not expression.");
+                    }
+                    this.push(BooleanValue.of(!((BooleanValue) val).booleanValue()));
+                    break;
+                }
+                case VmCompiler.AND:
+                case VmCompiler.OR: {
+                    boolean isAnd = (op == VmCompiler.AND);
+                    int n = code[pc++];
+                    this.sp -= n;
+                    boolean returnVal = ((BooleanValue) this.stack[this.sp]).booleanValue();
+                    for (int i = 1; i < n; i++) {
+                        boolean boolVal = ((BooleanValue) this.stack[this.sp + i]).booleanValue();
+                        returnVal = (isAnd ? returnVal && boolVal : returnVal || boolVal);
+                    }
+                    this.push(BooleanValue.of(returnVal));
+                    break;
+                }
+                case VmCompiler.COMPARE: {
+                    DataValue val2 = this.pop();
+                    DataValue val1 = this.pop();
+                    this.push(BooleanValue.of(JitRuntime.compare(val1, val2, code[pc++])));
+                    break;
+                }
+                case VmCompiler.COMPARE_CHAIN: {
+                    DataValue val2 = this.pop();
+                    DataValue val1 = this.pop();
+                    if (JitRuntime.compare(val1, val2, code[pc + 1])) {
+                        this.push(val2);
+                        pc += 2;
+                    } else {
+                        this.push(BooleanValue.FALSE);
+                        pc = code[pc];
+                    }
+                    break;
+                }
+                case VmCompiler.LEN:
+                    this.push(NumberValue.of(((ListValue) this.pop()).size()));
+                    break;
+                case VmCompiler.GET: {
+                    DataValue second = this.pop();
+                    this.push(SeqGet.get((ListValue) this.pop(), second));
+                    break;
+                }
+                case VmCompiler.CAT: {
+                    int n = code[pc++];
+                    this.sp -= n;
+                    this.push(SeqCat.cat(this.stack, this.sp, n));
+                    break;
+                }
+                case VmCompiler.STR:
+                    this.push(new StringValue(this.pop().toString()));
+                    break;
+                case VmCompiler.LIST: {
+                    int n = code[pc++];
+                    this.sp -= n;
+                    this.push(new ListValue(Rope.of(Arrays.copyOfRange(this.stack, this.sp, this.sp + n))));
+                    break;
+                }
+                case VmCompiler.CHECK_CALL:
+                    ((Call) consts[code[pc++]]).lookupFunction(this.mem);
+                    break;
+                case VmCompiler.CALL:
+                case VmCompiler.TAIL_CALL: {
+                    FunctionDecl function = ((Call) consts[code[pc++]]).lookupFunction(this.mem);
+                    int argc = code[pc++];
+                    MemoCache cache = function.getMemoCache(this.mem);
+                    if (op == VmCompiler.CALL || cache != null) {
+                        // a memoized function is not tail called (the RETURN after it returns its result)
+                        DataValue[] frame = this.popArguments(function, argc);
+                        MemoCache.Key key = null;
+                        if (cache != null) {
+                            key = cache.keyFor(frame, argc);
+                            DataValue cached = cache.lookup(key);
+                            if (cached != null) {
+                                this.mem.releaseFrame(frame, function.getFrameSize());
+                                this.push(cached);
+                                break;
+                            }
+                        }
+                        if (this.budget != null) {
+                            this.budget.enter();
+                        }
+                        this.pushCall(current, pc, frame);
+                        this.callMemo[this.fp - 1] = cache;
+                        this.callKey[this.fp - 1] = key;
+                        current = function.getVmCode();
+                        code = current.code;
+                        consts = current.constants;
+                        pc = 0;
+                        break;
+                    }
+                    if (this.budget != null) {
+                        this.budget.tick();
+                    }
+                    int top = this.fp - 1;
+                    this.mem.releaseFrame(this.calleeFrame[top], this.calleeFrame[top].length);
+                    DataValue[] frame = this.popArguments(function, argc);
+                    this.mem.enterFrame(frame);
+                    this.calleeFrame[top] = frame;
+                    this.sp = this.callSp[top];
+                    this.csp = this.callCsp[top];
+                    current = function.getVmCode();
+                    code = current.code;
+                    consts = current.constants;
+                    pc = 0;
+                    break;
+                }
+                case VmCompiler.EXEC:
+                case VmCompiler.RETURN:
+                case VmCompiler.RETURN_DEFAULT: {
+                    DataValue val;
+                    if (op == VmCompiler.EXEC) {
+                        val = ((Statement) consts[code[pc++]]).execute(this.mem);
+                        if (val == null) {
+                            break;
+                        }
+                    } else {
+                        val = (op == VmCompiler.RETURN ? this.pop() : BooleanValue.TRUE);
+                    }
+                    if (this.fp == 0) {
+                        return val;
+                    }
+                    this.fp--;
+                    if (this.budget != null) {
+                        this.budget.exit();
+                    }
+                    if (this.callMemo[this.fp] != null) {
+                        this.callMemo[this.fp].store(this.callKey[this.fp], val);
+                        this.callMemo[this.fp] = null;
+                        this.callKey[this.fp] = null;
+                    }
+                    this.mem.exitFrame(this.callFrame[this.fp]);
+                    this.mem.releaseFrame(this.calleeFrame[this.fp], this.calleeFrame[this.fp].length);
+                    this.callFrame[this.fp] = null;
+                    this.calleeFrame[this.fp] = null;
+                    current = this.callCode[this.fp];
+                    code = current.code;
+                    consts = current.constants;
+                    pc = this.callPc[this.fp];
+                    this.sp = this.callSp[this.fp];
+                    this.csp = this.callCsp[this.fp];
+                    this.push(val);
+                    break;
+                }
+                case VmCompiler.REPEAT_INIT:
+                    if (this.csp == this.counters.length) {
+                        this.counters = Arrays.copyOf(this.counters, 2 * this.csp);
+                    }
+                    this.counters[this.csp++] = JitRuntime.repeatCount(this.pop());
+                    break;
+                case VmCompiler.REPEAT_TEST:
+                    if (this.counters[this.csp - 1] <= 0) {
+                        this.csp--;
+                        pc = code[pc];
+                    } else {
+                        this.counters[this.csp - 1]--;
+                        pc++;
+                    }
+                    break;
+                case VmCompiler.EVAL:
+                    this.push(((Expression) consts[code[pc++]]).evaluate(this.mem));
+                    break;
+                default:
+                    throw new IllegalStateException("bad opcode " + op);
+            }
+        }
+    }
+}
@@ -0,0 +1,20 @@
+/**
+ * Class that represents a compiled unit of code for the VirtualMachine: a dense
+ *   instruction array (opcodes, each followed by its int operands) and the constant
+ *   pool those operands index into.
+ *   @version 10/18/26
+ */
+public class VmCode {
+    public final int[] code;
+    public final Object[] constants;
+
+    /**
+     * Constructs a compiled unit.
+     *   @param code the instructions
+     *   @param constants the constant pool
+     */
+    public VmCode(int[] code, Object[] constants) {
+        this.code = code;
+        this.constants = constants;
+    }
+}
@@ -0,0 +1,168 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Class that compiles statements into VmCode for the VirtualMachine.  Each node
+ *   emits its own instructions through its compile(VmCompiler) method; the checks
+ *   are emitted in the same order the tree-walker performs them, so both engines
+ *   report the same errors.  Compiling recurses on the nesting of the tree, so a
+ *   statement nested too deeply to compile is run by its own execute method instead.
+ *   @version 10/18/26
+ */
+public class VmCompiler {
+    public static final int HALT = 0, CONST = 1, LOAD_LOCAL = 2, LOAD_GLOBAL = 3, STORE_LOCAL = 4,
+        STORE_GLOBAL = 5, CLEAR = 6, POP = 7, PRINT = 8, JUMP = 9, JUMP_IF_FALSE = 10, FAIL = 11,
+        CHECK_NUMBER = 12, CHECK_BOOLEAN = 13, CHECK_SEQUENCE = 14, CHECK_CAT = 15,
+        ADD = 16, MUL = 17, DIV = 18, NOT = 19, AND = 20, OR = 21, COMPARE = 22, COMPARE_CHAIN = 23,
+        LEN = 24, GET = 25, CAT = 26, STR = 27, LIST = 28, CHECK_CALL = 29, CALL = 30, RETURN = 31,
+        RETURN_DEFAULT = 32, REPEAT_INIT = 33, REPEAT_TEST = 34, EXEC = 35, EVAL = 36, TAIL_CALL = 37;
+
+    private int[] code;
+    private int size;
+    private ArrayList<Object> constants;
+    private ArrayList<Integer> labels;
+    private ArrayList<Integer> fixups;
+
+    private VmCompiler() {
+        this.code = new int[64];
+        this.constants = new ArrayList<Object>();
+        this.labels = new ArrayList<Integer>();
+        this.fixups = new ArrayList<Integer>();
+    }
+
+    /**
+     * Compiles a top-level statement (the code ends with HALT).
+     *   @param stmt the statement
+     *   @return the compiled code
+     */
+    public static VmCode compile(Statement stmt) {
+        VmCompiler vm = new VmCompiler();
+        try {
+            stmt.compile(vm);
+        } catch (StackOverflowError e) {
+            vm = new VmCompiler();
+            vm.emitExecute(stmt);
+        }
+        vm.emit(HALT);
+        return vm.finish();
+    }
+
+    /**
+     * Compiles a function body (the code ends by returning the default value, true).
+     *   @param body the statements of the function body
+     *   @return the compiled code
+     */
+    public static VmCode compileFunction(List<Statement> body) {
+        VmCompiler vm = new VmCompiler();
+        try {
+            for (Statement stmt : body) {
+                stmt.compile(vm);
+            }
+        } catch (StackOverflowError e) {
+            vm = new VmCompiler();
+            for (Statement stmt : body) {
+                vm.emitExecute(stmt);
+            }
+        }
+        vm.emit(RETURN_DEFAULT);
+        return vm.finish();
+    }
+
+    private VmCode finish() {
+        for (int at : this.fixups) {
+            this.code[at] = this.labels.get(this.code[at]);
+        }
+        return new VmCode(Arrays.copyOf(this.code, this.size), this.constants.toArray());
+    }
+
+    private void put(int val) {
+        if (this.size == this.code.length) {
+            this.code = Arrays.copyOf(this.code, 2 * this.size);
+        }
+        this.code[this.size++] = val;
+    }
+
+    /**
+     * Emits an instruction.
+     *   @param op the opcode
+     *   @param operands its int operands
+     */
+    public void emit(int op, int... operands) {
+        this.put(op);
+        for (int operand : operands) {
+            this.put(operand);
+        }
+    }
+
+    /**
+     * Adds an object to the constant pool.
+     *   @param obj the constant (a value, name, message or node)
+     *   @return its index in the pool
+     */
+    public int constant(Object obj) {
+        for (int i = 0; i < this.constants.size(); i++) {
+            if (this.constants.get(i) == obj) {
+                return i;
+            }
+        }
+        this.constants.add(obj);
+        return this.constants.size() - 1;
+    }
+
+    /**
+     * Emits an instruction that pushes a constant value.
+     *   @param val the value
+     */
+    public void emitConstant(DataValue val) {
+        this.emit(CONST, this.constant(val));
+    }
+
+    /**
+     * Emits an instruction that throws a runtime error.
+     *   @param message the error message
+     */
+    public void emitFail(String message) {
+        this.emit(FAIL, this.constant(message));
+    }
+
+    /**
+     * Emits a call to a statement's own execute method (for statements without instructions).
+     *   @param stmt the statement
+     */
+    public void emitExecute(Statement stmt) {
+        this.emit(EXEC, this.constant(stmt));
+    }
+
+    /**
+     * Emits a call to an expression's own evaluate method (for expressions without instructions).
+     *   @param expr the expression
+     */
+    public void emitEvaluate(Expression expr) {
+        this.emit(EVAL, this.constant(expr));
+    }
+
+    public int newLabel() {
+        this.labels.add(-1);
+        return this.labels.size() - 1;
+    }
+
+    public void placeLabel(int label) {
+        this.labels.set(label, this.size);
+    }
+
+    /**
+     * Emits a branch instruction whose first operand is a label.
+     *   @param op the opcode (e.g., JUMP)
+     *   @param label the target label
+     *   @param operands any further operands
+     */
+    public void emitJump(int op, int label, int... operands) {
+        this.put(op);
+        this.fixups.add(this.size);
+        this.put(label);
+        for (int operand : operands) {
+            this.put(operand);
+        }
+    }
+}
@@ -1,44 +1,121 @@
+import java.util.Collections;
+
 /**
  * Derived class that represents a while statement in the SILLY language.
  *   @author Dave Reed
  *   @version 1/20/25
  */
-public class While extends Statement {
+public class While extends Statement implements ExpressionHolder {
     private Expression expr;
     private Compound body;  
+    private int backEdges;
+    private CompiledCode compiled;
     
     /**
-     * Reads in a while statement from the specified stream
-     *   @param input the stream to be read from
+     * Constructs a while statement (e.g., from a SyntaxArena).
+     *   @param expr the loop test
+     *   @param body the loop body
+     */
+    public While(Expression expr, Compound body) {
+        this.expr = expr.adoptedBy(this);
+        this.body = body;
+    }
+
+    /**
+     * Replaces the test (when it specializes itself).
+     *   @param oldChild the expression being replaced
+     *   @param newChild its replacement
      */
-    public While(TokenStream input) throws Exception {
-        if (!input.next().toString().equals("while")) {
-            throw new Exception("SYNTAX ERROR: Malformed while statement");
+    public void replaceChild(Expression oldChild, Expression newChild) {
+        if (this.expr == oldChild) {
+            this.expr = newChild;
         }
-        this.expr = new Expression(input);     
-        this.body = new Compound(input);
     }
 
     /**
-     * Executes the current while statement.
+     * Resolves the current while statement.
+     *   @param r the resolver for the enclosing scope
      */
-    public void execute() throws Exception {
+    public void resolve(Resolver r) {
+        this.expr.resolve(r);
+        this.body.resolve(r);
+    }
+
+    public void declareFunctions(MemorySpace mem) throws Exception {
+        this.body.declareFunctions(mem);
+    }
+
+    public void checkPurity(PurityCheck check) {
+        this.expr.checkPurity(check);
+        this.body.checkPurity(check);
+    }
+
+    /**
+     * Executes the current while statement.  Once the loop has iterated
+     * JitCompiler.THRESHOLD times it is compiled, and the remaining iterations
+     * (and later executions) run the compiled loop instead (unless profiling).
+     * Each iteration is charged to the run's budget, if it has one.
+     */
+    public DataValue execute(MemorySpace mem) throws Exception {
+        Profiler profiler = mem.getProfiler();
+        Budget budget = mem.getBudget();
     	boolean keepLooping = true;
         while (keepLooping) {
-        	DataValue eVal = this.expr.evaluate();
+            if (this.compiled != null && profiler == null) {
+                return this.compiled.execute(mem);
+            }
+        	DataValue eVal = this.expr.evaluate(mem);
         	if (eVal.getType() != DataValue.Type.BOOLEAN) {
         		throw new Exception("RUNTIME ERROR: while statement requires Boolean test.");
         	}
-            if ((Boolean)eVal.getValue()) {
-            	this.body.execute();
+            if (((BooleanValue) eVal).booleanValue()) {
+            	DataValue returned = this.body.execute(mem);
+                if (returned != null) {
+                    return returned;
+                }
+                if (budget != null) {
+                    budget.tick();
+                }
+                if (profiler != null) {
+                    profiler.iterate();
+                } else if (!mem.isWorker() && this.backEdges <= JitCompiler.THRESHOLD && this.backEdges++ == JitCompiler.THRESHOLD) {
+                    this.compiled = JitCompiler.compile(Collections.singletonList(this));
+                }
             }
             else {
             	keepLooping = false;
             }   
         }
+        return null;
+    }
+
+    /**
+     * Emits JVM bytecode for the loop (the test is re-evaluated on every iteration).
+     *   @param jit the compiler emitting the code
+     */
+    public void compile(JitCompiler jit) {
+        BytecodeEmitter.Label top = jit.newLabel();
+        BytecodeEmitter.Label end = jit.newLabel();
+        jit.placeLabel(top);
+        this.expr.compileCondition(jit, "RUNTIME ERROR: while statement requires Boolean test.");
+        jit.emitJumpIfFalse(end);
+        this.body.compile(jit);
+        jit.emitTick();
+        jit.emitJump(top);
+        jit.placeLabel(end);
+    }
+
+    public void compile(VmCompiler vm) {
+        int top = vm.newLabel();
+        int end = vm.newLabel();
+        vm.placeLabel(top);
+        this.expr.compile(vm);
+        vm.emitJump(VmCompiler.JUMP_IF_FALSE, end, vm.constant("RUNTIME ERROR: while statement requires Boolean test."));
+        this.body.compile(vm);
+        vm.emitJump(VmCompiler.JUMP, top);
+        vm.placeLabel(end);
     }
 
-    
     /**
      * Converts the current while statement into a String.
      *   @return the String representation of this statement
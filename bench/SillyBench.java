@@ -0,0 +1,387 @@
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Benchmark suite for the lexer, parser, evaluator and value layer.  The project
+ *   has no build file to pull in JMH, so this is a small harness in the same
+ *   spirit: each benchmark is warmed up, then timed over several iterations, and
+ *   reported as the average time per operation (with a 99.9% error margin), the
+ *   bytes allocated per operation and the garbage collections during measurement.
+ *
+ *   Results are written as JMH-style JSON; with -baseline, each score is compared
+ *   with the same benchmark in a saved result file, and the run fails if any is
+ *   slower by more than the tolerance.  From the project directory:
+ *
+ *     javac -d /tmp/bench *.java bench/SillyBench.java
+ *     java -cp /tmp/bench SillyBench -o bench/results.json -baseline bench/baseline/results.json
+ *
+ *   Options: -wi N / -i N (warmup and measurement iterations, default 3 and 5),
+ *   -t MS (milliseconds per iteration, default 500), -vm (run programs on the
+ *   VirtualMachine), -tolerance PCT (default 10), and benchmark names (or name
+ *   prefixes) to run only some of them.
+ *   @version 10/18/26
+ */
+public class SillyBench {
+    private static final Pattern RESULT = Pattern.compile(
+        "\"benchmark\" : \"([^\"]+)\".*?\"size\" : \"(\\d+)\".*?\"score\" : ([0-9.eE+-]+)");
+
+    private static volatile int sink;
+
+    private int warmupIterations = 3;
+    private int iterations = 5;
+    private long iterationMillis = 500;
+    private boolean useVm;
+    private double tolerance = 10;
+    private List<String> selected = new ArrayList<String>();
+
+    /**
+     * Interface for the operation being measured.
+     */
+    private interface Workload {
+        public Object run() throws Exception;
+    }
+
+    /**
+     * Interface for creating the operation for a benchmark at a given size.
+     */
+    private interface Setup {
+        public Workload create(int size) throws Exception;
+    }
+
+    /**
+     * Class that holds the measurements of one benchmark at one size.
+     */
+    private static class Result {
+        private String name;
+        private int size;
+        private double[] scores;
+        private double score;
+        private double error;
+        private double allocated;
+        private long gcCount;
+        private long gcMillis;
+    }
+
+    public static void main(String[] args) throws Exception {
+        SillyBench bench = new SillyBench();
+        String output = null;
+        String baseline = null;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "-wi": bench.warmupIterations = Integer.parseInt(args[++i]); break;
+                case "-i": bench.iterations = Integer.parseInt(args[++i]); break;
+                case "-t": bench.iterationMillis = Long.parseLong(args[++i]); break;
+                case "-vm": bench.useVm = true; break;
+                case "-tolerance": bench.tolerance = Double.parseDouble(args[++i]); break;
+                case "-o": output = args[++i]; break;
+                case "-baseline": baseline = args[++i]; break;
+                default: bench.selected.add(args[i]);
+            }
+        }
+
+        List<Result> results = bench.runAll();
+        String json = bench.toJson(results);
+        if (output != null) {
+            Path path = Paths.get(output);
+            if (path.toAbsolutePath().getParent() != null) {
+                Files.createDirectories(path.toAbsolutePath().getParent());
+            }
+            Files.write(path, json.getBytes(StandardCharsets.UTF_8));
+        }
+        if (baseline != null && !bench.compare(results, Paths.get(baseline))) {
+            System.exit(1);
+        }
+    }
+
+    private List<Result> runAll() throws Exception {
+        List<Result> results = new ArrayList<Result>();
+
+        this.run(results, "lex", new int[] { 1000, 20000 }, size -> {
+            byte[] source = SillyBench.source(size).getBytes(StandardCharsets.UTF_8);
+            return () -> {
+                TokenStream input = new TokenStream(ByteBuffer.wrap(source));
+                int tokens = 0;
+                while (input.hasNext()) {
+                    input.next();
+                    tokens++;
+                }
+                return tokens;
+            };
+        });
+
+        this.run(results, "parse", new int[] { 1000, 20000 }, size -> {
+            byte[] source = SillyBench.source(size).getBytes(StandardCharsets.UTF_8);
+            return () -> {
+                TokenStream input = new TokenStream(ByteBuffer.wrap(source));
+                ArenaParser parser = new ArenaParser(input);
+                Statement last = null;
+                while (input.hasNext()) {
+                    last = parser.getStatement();
+                }
+                return last;
+            };
+        });
+
+        this.run(results, "whileArithmetic", new int[] { 100000 }, size ->
+            this.program("", "i = 0 s = 0 while (< i " + size + ") { s = (+ s (* i 2)) i = (+ i 1) } print s"));
+
+        this.run(results, "functionCall", new int[] { 100000 }, size ->
+            this.program("func inc(x) { return (+ x 1) }",
+                         "s = 0 repeat " + size + " { s = (inc s) } print s"));
+
+        this.run(results, "recursion", new int[] { 20 }, size ->
+            this.program("func fib(n) { if (< n 2) { return n } else { return (+ (fib (+ n -1)) (fib (+ n -2))) } }",
+                         "print (fib " + size + ")"));
+
+        this.run(results, "listGet", new int[] { 10000 }, size ->
+            this.program(SillyBench.buildList(size),
+                         "i = 0 s = 0 while (< i (len lst)) { s = (+ s (get lst i)) i = (+ i 1) } print s"));
+
+        this.run(results, "listCat", new int[] { 10000 }, size ->
+            this.program("", "r = [] repeat " + size + " { r = (cat r [1]) } print (len r)"));
+
+        this.run(results, "stringGet", new int[] { 10000 }, size ->
+            this.program("s = \"\" repeat " + size + " { s = (cat s \"ab\") }",
+                         "i = 0 n = 0 while (< i (len s)) { if (== (get s i) 'a') { n = (+ n 1) } else {} i = (+ i 1) } print n"));
+
+        this.run(results, "hw3", new int[] { 100, 400 }, size ->
+            this.program("", SillyBench.hw3(size)));
+
+        return results;
+    }
+
+    /**
+     * Measures one benchmark at each of its sizes (if it is selected).
+     */
+    private void run(List<Result> results, String name, int[] sizes, Setup setup) throws Exception {
+        if (!this.selected.isEmpty() && this.selected.stream().noneMatch(name::startsWith)) {
+            return;
+        }
+        for (int size : sizes) {
+            Workload workload = setup.create(size);
+            for (int i = 0; i < this.warmupIterations; i++) {
+                this.iteration(workload, null);
+            }
+
+            Result result = new Result();
+            result.name = name;
+            result.size = size;
+            result.scores = new double[this.iterations];
+            long gcCount = SillyBench.gcCount();
+            long gcMillis = SillyBench.gcMillis();
+            long[] totals = new long[2];
+            for (int i = 0; i < this.iterations; i++) {
+                result.scores[i] = this.iteration(workload, totals);
+            }
+            result.gcCount = SillyBench.gcCount() - gcCount;
+            result.gcMillis = SillyBench.gcMillis() - gcMillis;
+            result.allocated = (double) totals[1] / totals[0];
+
+            double sum = 0;
+            for (double s : result.scores) {
+                sum += s;
+            }
+            result.score = sum / result.scores.length;
+            double squares = 0;
+            for (double s : result.scores) {
+                squares += (s - result.score) * (s - result.score);
+            }
+            double stdev = (result.scores.length > 1 ? Math.sqrt(squares / (result.scores.length - 1)) : 0);
+            result.error = 3.29 * stdev / Math.sqrt(result.scores.length);
+            results.add(result);
+
+            System.out.println(String.format(Locale.ROOT, "%-16s %7d  %12.3f +- %9.3f us/op  %12.0f B/op  %3d GCs (%d ms)",
+                                             name, size, result.score, result.error, result.allocated,
+                                             result.gcCount, result.gcMillis));
+        }
+    }
+
+    /**
+     * Runs the workload repeatedly for one iteration.
+     *   @param totals if not null, the operation count and bytes allocated are added to it
+     *   @return the average time per operation (in microseconds)
+     */
+    private double iteration(Workload workload, long[] totals) throws Exception {
+        long allocated = SillyBench.allocatedBytes();
+        long start = System.nanoTime();
+        long deadline = start + this.iterationMillis * 1000000;
+        long ops = 0;
+        long now;
+        do {
+            SillyBench.sink += System.identityHashCode(workload.run());
+            ops++;
+            now = System.nanoTime();
+        } while (now < deadline);
+        if (totals != null) {
+            totals[0] += ops;
+            totals[1] += SillyBench.allocatedBytes() - allocated;
+        }
+        return (now - start) / 1000.0 / ops;
+    }
+
+    /**
+     * Compiles a program whose setup statements run once; the operation measured
+     * runs the remaining statements (in the same memory space).
+     */
+    private Workload program(String setup, String body) throws Exception {
+        SillyEngine engine = new SillyEngine(this.useVm);
+        Program program = engine.compile(setup + "\n" + body);
+        int first = program.size() - engine.compile(body).size();
+        MemorySink out = new MemorySink();
+        RunContext context = new RunContext(out);
+        for (int i = 0; i < first; i++) {
+            program.execute(i, context);
+        }
+        return () -> {
+            for (int i = first; i < program.size(); i++) {
+                program.execute(i, context);
+            }
+            return out;
+        };
+    }
+
+    /**
+     * Generates source code with a mix of statements, for the lexer and parser.
+     *   @param lines the number of lines
+     */
+    private static String source(int lines) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < lines; i++) {
+            switch (i % 4) {
+                case 0: sb.append("x").append(i % 50).append(" = (+ (* 3 y) (get lst ").append(i).append("))\n"); break;
+                case 1: sb.append("if (< x 10) { print \"small value\" } else { print (cat \"big \" s) }\n"); break;
+                case 2: sb.append("while (< i n) { i = (+ i 1) total = (+ total [1 2 3]) }\n"); break;
+                default: sb.append("func f").append(i).append("(a b) { return (fib (+ a b)) }\n");
+            }
+        }
+        return sb.toString();
+    }
+
+    private static String buildList(int size) {
+        return "lst = [] i = 0 while (< i " + size + ") { lst = (cat lst [i]) i = (+ i 1) }";
+    }
+
+    /**
+     * Generates the hw3.txt program (shortest and longest word, and whether any
+     * word repeats) for a list of words.
+     *   @param words the number of words
+     */
+    private static String hw3(int words) {
+        StringBuilder list = new StringBuilder("list = [");
+        for (int i = 0; i < words; i++) {
+            list.append(" \"w").append(Integer.toString(i * 7919 % (words + words / 10), 36)).append('"');
+        }
+        list.append(" ]\n");
+        return list +
+            "shortest = (get list 0) longest = (get list 0) dupes = false i = 0\n" +
+            "while (< i (len list)) {\n" +
+            "  currentWord = (get list i)\n" +
+            "  if (< (len currentWord) (len shortest)) { shortest = currentWord } else {}\n" +
+            "  if (> (len currentWord) (len longest)) { longest = currentWord } else {}\n" +
+            "  checkIndex = 0\n" +
+            "  while (< checkIndex i) {\n" +
+            "    if (== currentWord (get list checkIndex)) { dupes = true } else {}\n" +
+            "    checkIndex = (+ checkIndex 1)\n" +
+            "  }\n" +
+            "  i = (+ i 1)\n" +
+            "}\n" +
+            "print (cat \"shortest=\" shortest) print (cat \"longest=\" longest) print (cat \"dupes?\" (str dupes))\n";
+    }
+
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean()).getCurrentThreadAllocatedBytes();
+    }
+
+    private static long gcCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(gc.getCollectionCount(), 0);
+        }
+        return count;
+    }
+
+    private static long gcMillis() {
+        long millis = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            millis += Math.max(gc.getCollectionTime(), 0);
+        }
+        return millis;
+    }
+
+    /**
+     * Formats the results as JSON, in the layout JMH uses (one benchmark per entry).
+     */
+    private String toJson(List<Result> results) {
+        StringBuilder sb = new StringBuilder("[\n");
+        for (int r = 0; r < results.size(); r++) {
+            Result result = results.get(r);
+            StringBuilder raw = new StringBuilder();
+            for (double s : result.scores) {
+                raw.append(raw.length() == 0 ? "" : ", ").append(SillyBench.number(s));
+            }
+            sb.append("    { \"benchmark\" : \"").append(result.name).append('"')
+              .append(", \"mode\" : \"avgt\", \"threads\" : 1, \"forks\" : 1")
+              .append(", \"vm\" : \"").append(this.useVm ? "vm" : "tree").append('"')
+              .append(", \"jdkVersion\" : \"").append(System.getProperty("java.version")).append('"')
+              .append(", \"processors\" : ").append(Runtime.getRuntime().availableProcessors())
+              .append(", \"warmupIterations\" : ").append(this.warmupIterations)
+              .append(", \"measurementIterations\" : ").append(this.iterations)
+              .append(", \"measurementTime\" : \"").append(this.iterationMillis).append(" ms\"")
+              .append(", \"params\" : { \"size\" : \"").append(result.size).append("\" }")
+              .append(", \"primaryMetric\" : { \"score\" : ").append(SillyBench.number(result.score))
+              .append(", \"scoreError\" : ").append(SillyBench.number(result.error))
+              .append(", \"scoreUnit\" : \"us/op\", \"rawData\" : [ [ ").append(raw).append(" ] ] }")
+              .append(", \"secondaryMetrics\" : {")
+              .append(" \"gc.alloc.rate.norm\" : { \"score\" : ").append(SillyBench.number(result.allocated))
+              .append(", \"scoreUnit\" : \"B/op\" },")
+              .append(" \"gc.count\" : { \"score\" : ").append(result.gcCount).append(", \"scoreUnit\" : \"counts\" },")
+              .append(" \"gc.time\" : { \"score\" : ").append(result.gcMillis).append(", \"scoreUnit\" : \"ms\" } } }")
+              .append(r + 1 < results.size() ? ",\n" : "\n");
+        }
+        return sb.append("]\n").toString();
+    }
+
+    private static String number(double d) {
+        return String.format(Locale.ROOT, "%.3f", d);
+    }
+
+    /**
+     * Compares the results with a baseline result file.
+     *   @return true if no benchmark is slower than the tolerance allows
+     */
+    private boolean compare(List<Result> results, Path baseline) throws IOException {
+        HashMap<String, Double> scores = new HashMap<String, Double>();
+        for (String line : Files.readAllLines(baseline, StandardCharsets.UTF_8)) {
+            Matcher m = SillyBench.RESULT.matcher(line);
+            if (m.find()) {
+                scores.put(m.group(1) + ":" + m.group(2), Double.parseDouble(m.group(3)));
+            }
+        }
+        boolean ok = true;
+        System.out.println();
+        for (Result result : results) {
+            Double before = scores.get(result.name + ":" + result.size);
+            if (before == null) {
+                continue;
+            }
+            double change = 100 * (result.score - before) / before;
+            boolean regressed = change > this.tolerance;
+            ok = ok && !regressed;
+            System.out.println(String.format(Locale.ROOT, "%-16s %7d  %+7.1f%%%s", result.name, result.size,
+                                             change, regressed ? "  REGRESSION" : ""));
+        }
+        return ok;
+    }
+}
@@ -0,0 +1,14 @@
+/**
+ * Runs every behaviour test in this directory (see Check).
+ *   @version 10/18/26
+ */
+public class AllTests {
+    public static void main(String[] args) throws Exception {
+        RopeTest.run();
+        MemoCacheTest.run();
+        ProgramCacheTest.run();
+        ParallelTest.run();
+        BudgetTest.run();
+        Check.finish("AllTests");
+    }
+}
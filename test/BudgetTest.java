@@ -0,0 +1,129 @@
+/**
+ * Behaviour tests for Budget: a run that uses more fuel, nests its calls deeper or
+ *   runs longer than its budget allows is ended with a BudgetExceeded (on the
+ *   tree-walker and on the VM), a run within its budget is not, and the clock runs
+ *   only while statements execute.
+ *   @version 10/18/26
+ */
+public class BudgetTest {
+    private static final String COUNT = "func upto(n) {\n i = 0\n while (< i n) {\n  i = (+ i 1)\n }\n return i\n}\n";
+    private static final String NEST =
+        "func nest(n) {\n if (< n 1) {\n  return 0\n }\n else {\n  return (+ 1 (nest (+ n -1)))\n }\n}\n" +
+        "func tail(n) {\n if (< n 1) {\n  return 0\n }\n else {\n  return (tail (+ n -1))\n }\n}\n";
+
+    public static void main(String[] args) throws Exception {
+        BudgetTest.run();
+        Check.finish("BudgetTest");
+    }
+
+    public static void run() throws Exception {
+        for (boolean useVm : new boolean[] { false, true }) {
+            BudgetTest.fuel(useVm);
+            BudgetTest.depth(useVm);
+            BudgetTest.time(useVm);
+        }
+        BudgetTest.clockBetweenStatements();
+        BudgetTest.clock();
+    }
+
+    private static void fuel(boolean useVm) throws Exception {
+        String where = (useVm ? " (VM)" : "");
+        String out = BudgetTest.run(COUNT + "print (upto 5000)\n",
+                                    new Budget(10000, Budget.UNLIMITED, Budget.UNLIMITED), useVm);
+        Check.equal("5000\n", out, "a loop within its fuel" + where);
+        out = BudgetTest.run(COUNT + "print (upto 1000000)\nprint \"after\"\n",
+                             new Budget(10000, Budget.UNLIMITED, Budget.UNLIMITED), useVm);
+        Check.equal("BudgetExceeded: RUNTIME ERROR: Fuel limit of 10000 loop iterations and calls exceeded.\n" +
+                    "BudgetExceeded", out, "a loop that runs out of fuel ends the run" + where);
+    }
+
+    private static void depth(boolean useVm) throws Exception {
+        String where = (useVm ? " (VM)" : "");
+        String out = BudgetTest.run(NEST + "print (nest 40)\nprint (tail 1000)\n",
+                                    new Budget(Budget.UNLIMITED, 50, Budget.UNLIMITED), useVm);
+        Check.equal("40\n0\n", out, "calls within the depth limit (tail calls do not nest)" + where);
+        out = BudgetTest.run(NEST + "print (nest 60)\n", new Budget(Budget.UNLIMITED, 50, Budget.UNLIMITED), useVm);
+        Check.equal("BudgetExceeded: RUNTIME ERROR: Call depth limit of 50 exceeded.\nBudgetExceeded", out,
+                    "calls nested too deeply" + where);
+    }
+
+    private static void time(boolean useVm) throws Exception {
+        String where = (useVm ? " (VM)" : "");
+        long started = System.nanoTime();
+        Check.equal("BudgetExceeded: RUNTIME ERROR: Time limit of 100 ms exceeded.\nBudgetExceeded",
+                    BudgetTest.run("while (< 0 1) {\n}\n", new Budget(Budget.UNLIMITED, Budget.UNLIMITED, 100), useVm),
+                    "an endless loop runs out of time" + where);
+        long millis = (System.nanoTime() - started) / 1000000;
+        Check.isTrue(millis < 5000, "and is stopped soon after (" + millis + " ms)" + where);
+    }
+
+    private static void clockBetweenStatements() throws Exception {
+        Program program = new SillyEngine().compile(COUNT + "print (upto 100000)\nprint (upto 100000)\n");
+        RunContext context = new RunContext(new MemorySink());
+        context.setBudget(new Budget(Budget.UNLIMITED, Budget.UNLIMITED, 300));
+        boolean exceeded = false;
+        try {
+            for (int i = 0; i < program.size(); i++) {
+                program.execute(i, context);
+                Thread.sleep(200);
+            }
+        } catch (BudgetExceeded e) {
+            exceeded = true;
+        }
+        Check.isTrue(!exceeded, "time between statements does not count");
+        Check.equal("100000\n100000\n", context.getOutput().toString(), "statements run between pauses");
+    }
+
+    private static void clock() throws Exception {
+        Budget budget = new Budget(Budget.UNLIMITED, Budget.UNLIMITED, 400);
+        Check.isTrue(BudgetTest.ticks(budget, 5000), "the clock is not running before the first statement");
+
+        budget.start();
+        BudgetTest.busy(250);
+        Check.isTrue(BudgetTest.ticks(budget, 5000), "within the time allowed");
+        budget.stop();
+        Thread.sleep(500);
+        budget.start();
+        Check.isTrue(BudgetTest.ticks(budget, 5000), "a pause with the clock stopped is not counted");
+        BudgetTest.busy(250);
+        Check.isTrue(!BudgetTest.ticks(budget, 5000), "time used before the pause is counted");
+    }
+
+    /**
+     * Runs a program with a budget.
+     *   @return what it printed, followed by "BudgetExceeded" if it ran out
+     */
+    private static String run(String source, Budget budget, boolean useVm) throws Exception {
+        RunContext context = new RunContext(new MemorySink());
+        context.setBudget(budget);
+        String exceeded = "";
+        try {
+            new SillyEngine(useVm).compile(source).run(context);
+        } catch (BudgetExceeded e) {
+            exceeded = "BudgetExceeded";
+        }
+        return context.getOutput().toString() + exceeded;
+    }
+
+    /**
+     * Uses fuel from a budget.
+     *   @return true if the budget was not exceeded
+     */
+    private static boolean ticks(Budget budget, int count) {
+        try {
+            for (int i = 0; i < count; i++) {
+                budget.tick();
+            }
+            return true;
+        } catch (BudgetExceeded e) {
+            return false;
+        }
+    }
+
+    private static void busy(long millis) {
+        long until = System.nanoTime() + millis * 1000000;
+        while (System.nanoTime() < until) {
+            Thread.onSpinWait();
+        }
+    }
+}
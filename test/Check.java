@@ -0,0 +1,70 @@
+/**
+ * Small harness for the behaviour tests in this directory.  The project has no
+ *   build file to pull in JUnit, so each test class has a static run method that
+ *   makes its checks through this class, and a main method that runs just that
+ *   class.  AllTests runs them all.  From the project directory:
+ *
+ *     javac -d /tmp/test *.java test/*.java
+ *     java -cp /tmp/test AllTests
+ *
+ *   A failed check is printed as it happens; finish prints the totals and exits
+ *   with status 1 if any check failed.
+ *   @version 10/18/26
+ */
+public class Check {
+    private static int checks;
+    private static int failures;
+
+    /**
+     * Checks a condition.
+     *   @param condition the condition that should hold
+     *   @param what a description of the check
+     */
+    public static void isTrue(boolean condition, String what) {
+        Check.checks++;
+        if (!condition) {
+            Check.failures++;
+            System.out.println("FAILED: " + what);
+        }
+    }
+
+    /**
+     * Checks that a value is what was expected.
+     *   @param expected the expected value
+     *   @param actual the actual value
+     *   @param what a description of the check
+     */
+    public static void equal(Object expected, Object actual, String what) {
+        boolean same = (expected == null ? actual == null : expected.equals(actual));
+        Check.isTrue(same, what + " (expected " + expected + ", got " + actual + ")");
+    }
+
+    /**
+     * Runs a SILLY program on the tree-walker, from source to output.
+     *   @param source the source code
+     *   @return what the program printed
+     */
+    public static String run(String source) throws Exception {
+        return Check.run(source, new RunContext(new MemorySink()));
+    }
+
+    /**
+     * Runs a SILLY program on the tree-walker with a prepared context.
+     *   @param source the source code
+     *   @param context the run's memory space and output (a MemorySink)
+     *   @return what the program printed
+     */
+    public static String run(String source, RunContext context) throws Exception {
+        new SillyEngine().compile(source).run(context);
+        return context.getOutput().toString();
+    }
+
+    /**
+     * Prints the totals and exits (with status 1 if any check failed).
+     *   @param name the name of the test run
+     */
+    public static void finish(String name) {
+        System.out.println(name + ": " + Check.checks + " checks, " + Check.failures + " failed");
+        System.exit(Check.failures == 0 ? 0 : 1);
+    }
+}
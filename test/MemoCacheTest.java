@@ -0,0 +1,102 @@
+import java.util.Map;
+
+/**
+ * Behaviour tests for MemoCache: keys compare by their items, hits and misses are
+ *   counted, the least recently used entries are evicted once the cache is over
+ *   capacity, and a memoized function in a program hits its cache.
+ *   @version 10/18/26
+ */
+public class MemoCacheTest {
+    public static void main(String[] args) throws Exception {
+        MemoCacheTest.run();
+        Check.finish("MemoCacheTest");
+    }
+
+    public static void run() throws Exception {
+        MemoCacheTest.hitsAndMisses();
+        MemoCacheTest.leastRecentlyUsed();
+        MemoCacheTest.tooHeavy();
+        MemoCacheTest.programs();
+    }
+
+    private static void hitsAndMisses() {
+        MemoCache cache = new MemoCache();
+        MemoCache.Key key = MemoCacheTest.key(NumberValue.of(3), new StringValue("ab"));
+        Check.isTrue(cache.lookup(key) == null, "nothing cached at first");
+        cache.store(key, NumberValue.of(9));
+        Check.equal(NumberValue.of(9), cache.lookup(MemoCacheTest.key(NumberValue.of(3), new StringValue("ab"))),
+                    "a key with equal items finds the result");
+        ListValue ab = new ListValue(Rope.of(new DataValue[] { CharValue.of('a'), CharValue.of('b') }));
+        Check.isTrue(cache.lookup(MemoCacheTest.key(NumberValue.of(3), ab)) == null,
+                     "a list of characters is not the same as a string");
+        Check.isTrue(cache.lookup(MemoCacheTest.key(NumberValue.of(3), new StringValue("ba"))) == null,
+                     "a key with different items does not");
+        Check.isTrue(cache.lookup(MemoCacheTest.key(NumberValue.of(3))) == null,
+                     "a key with fewer arguments does not");
+        Check.equal(1L, cache.getHits(), "hits counted");
+        Check.equal(4L, cache.getMisses(), "misses counted");
+        Check.equal(1, cache.size(), "one entry");
+    }
+
+    private static void leastRecentlyUsed() {
+        // each entry weighs a third of the capacity (the list's items, the list and the result)
+        ListValue[] lists = new ListValue[4];
+        for (int i = 0; i < lists.length; i++) {
+            lists[i] = MemoCacheTest.list((int) (MemoCache.CAPACITY / 3) - 2, i);
+        }
+        MemoCache cache = new MemoCache();
+        for (int i = 0; i < 3; i++) {
+            cache.store(MemoCacheTest.key(lists[i]), NumberValue.of(i));
+        }
+        Check.equal(3, cache.size(), "three entries fit");
+        Check.equal(NumberValue.of(0), cache.lookup(MemoCacheTest.key(lists[0])), "first entry used again");
+        cache.store(MemoCacheTest.key(lists[3]), NumberValue.of(3));
+        Check.equal(3, cache.size(), "a fourth entry evicts one");
+        Check.isTrue(cache.lookup(MemoCacheTest.key(lists[1])) == null, "the least recently used entry is evicted");
+        Check.equal(NumberValue.of(0), cache.lookup(MemoCacheTest.key(lists[0])), "the recently used entry is kept");
+        Check.equal(NumberValue.of(2), cache.lookup(MemoCacheTest.key(lists[2])), "the third entry is kept");
+        Check.equal(NumberValue.of(3), cache.lookup(MemoCacheTest.key(lists[3])), "the new entry is cached");
+    }
+
+    private static void tooHeavy() {
+        MemoCache cache = new MemoCache();
+        cache.store(MemoCacheTest.key(NumberValue.of(1)), NumberValue.of(1));
+        ListValue huge = MemoCacheTest.list((int) MemoCache.CAPACITY, 0);
+        cache.store(MemoCacheTest.key(huge), NumberValue.of(2));
+        Check.isTrue(cache.lookup(MemoCacheTest.key(huge)) == null, "an entry heavier than the capacity is not cached");
+        Check.equal(NumberValue.of(1), cache.lookup(MemoCacheTest.key(NumberValue.of(1))),
+                    "and does not evict the others");
+    }
+
+    private static void programs() throws Exception {
+        RunContext context = new RunContext(new MemorySink());
+        String out = Check.run("func memo fib(n) {\n if (< n 2) {\n  return n\n }\n" +
+                               " else {\n  return (+ (fib (+ n -1)) (fib (+ n -2)))\n }\n}\n" +
+                               "print (fib 30)\nprint (fib 30)\n" +
+                               "g = 0\nfunc memo bump(n) {\n return (+ n g)\n}\nprint (bump 4)\n", context);
+        Check.equal("832040\n832040\n4\n", out, "memoized fib");
+        Map<String, MemoCache> caches = context.getMemoCaches();
+        MemoCache fib = caches.get("fib");
+        Check.isTrue(fib != null, "fib has a cache");
+        if (fib != null) {
+            // one miss for each of fib 30 down to fib 0; fib (n - 2) is then a hit
+            // (for n from 3 up), as is the second fib 30
+            Check.equal(31L, fib.getMisses(), "fib misses");
+            Check.equal(29L, fib.getHits(), "fib hits");
+            Check.equal(31, fib.size(), "fib entries");
+        }
+        Check.isTrue(!caches.containsKey("bump"), "an impure function is not memoized");
+    }
+
+    private static MemoCache.Key key(DataValue... args) {
+        return new MemoCache().keyFor(args, args.length);
+    }
+
+    private static ListValue list(int size, int item) {
+        DataValue[] items = new DataValue[size];
+        for (int i = 0; i < size; i++) {
+            items[i] = NumberValue.of(item);
+        }
+        return new ListValue(Rope.of(items));
+    }
+}
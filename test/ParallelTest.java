@@ -0,0 +1,100 @@
+/**
+ * Behaviour tests for the parallel built-ins: map, filter and count give the same
+ *   results (and the same first error) whether a list is processed in parallel
+ *   chunks or in order, for lists just below, at and above PARALLEL_THRESHOLD;
+ *   only pure functions are run in parallel; reduce keeps its order; and user
+ *   functions and variables may share the built-ins' names.
+ *   @version 10/18/26
+ */
+public class ParallelTest {
+    private static final int T = SeqParallel.PARALLEL_THRESHOLD;
+
+    // the same functions, but the second of each pair reads a global, so it is
+    // impure and always applied in order
+    private static final String FUNCTIONS =
+        "zero = 0\n" +
+        "func sq(x) {\n return (* x x)\n}\n" +
+        "func sqImpure(x) {\n return (+ (* x x) zero)\n}\n" +
+        "func small(x) {\n return (< (* x 3) " + T + ")\n}\n" +
+        "func smallImpure(x) {\n return (< (+ (* x 3) zero) " + T + ")\n}\n" +
+        "func upto(n) {\n l = []\n i = 0\n while (< i n) {\n  l = (cat l [i])\n  i = (+ i 1)\n }\n return l\n}\n";
+
+    public static void main(String[] args) throws Exception {
+        ParallelTest.run();
+        Check.finish("ParallelTest");
+    }
+
+    public static void run() throws Exception {
+        for (int size : new int[] { T - 1, T, T + 1, 2 * T + 1 }) {
+            ParallelTest.sameAsInOrder(size);
+        }
+        ParallelTest.firstError();
+        ParallelTest.whenParallel();
+        ParallelTest.reduce();
+        ParallelTest.shadowing();
+    }
+
+    private static void sameAsInOrder(int size) throws Exception {
+        String program = "l = (upto " + size + ")\n" +
+                         "print (map SQ l)\nprint (len (filter SMALL l))\nprint (filter SMALL l)\nprint (count SMALL l)\n";
+        String parallel = Check.run(FUNCTIONS + program.replace("SQ", "sq").replace("SMALL", "small"));
+        String inOrder = Check.run(FUNCTIONS + program.replace("SQ", "sqImpure").replace("SMALL", "smallImpure"));
+        Check.equal(inOrder, parallel, "map, filter and count of " + size + " items");
+        StringBuilder squares = new StringBuilder();
+        for (int i = 0; i < size; i++) {
+            squares.append(NumberValue.of((double) i * i));
+        }
+        Check.isTrue(parallel.startsWith(squares + "\n"), "map of " + size + " items gives the squares");
+    }
+
+    private static void firstError() throws Exception {
+        // the two bad items are in different chunks, and fail with different errors
+        String program = "func pick(i) {\n return (get [7 8] (+ i ZERO))\n}\n" +
+                         "func zeros(n) {\n l = []\n repeat n {\n  l = (cat l [0])\n }\n return l\n}\n" +
+                         "l = (cat (zeros 3000) (cat [(/ 1 2)] (cat (zeros 3000) (cat [5] (zeros 3000)))))\n" +
+                         "print (len l)\nprint (map pick l)\nprint \"after\"\n";
+        String parallel = Check.run(FUNCTIONS + program.replace("ZERO", "0"));
+        String inOrder = Check.run(FUNCTIONS + program.replace("ZERO", "zero"));
+        Check.equal(inOrder, parallel, "first error of a map");
+        Check.isTrue(parallel.contains("must be an integer") && parallel.endsWith("after\n"),
+                     "the first error is reported and the program goes on");
+    }
+
+    private static void whenParallel() throws Exception {
+        RunContext context = new RunContext(new MemorySink());
+        Check.run(FUNCTIONS, context);
+        MemorySpace mem = context.getMemory();
+        SeqMap map = new SeqMap(new Token("map"), new Expression[0]);
+        FunctionDecl pure = mem.lookupFunction("sq");
+        FunctionDecl impure = mem.lookupFunction("sqImpure");
+        Check.isTrue(map.isParallel(pure, mem, ParallelTest.list(T)), "a pure function on " + T + " items is run in parallel");
+        Check.isTrue(!map.isParallel(pure, mem, ParallelTest.list(T - 1)), "but not on " + (T - 1) + " items");
+        Check.isTrue(!map.isParallel(impure, mem, ParallelTest.list(T)), "nor an impure function");
+    }
+
+    private static void reduce() throws Exception {
+        int size = 2 * T + 1;
+        String out = Check.run(FUNCTIONS + "func halve(a b) {\n return (+ (/ a 2) b)\n}\n" +
+                               "print (reduce halve 1 (upto " + size + "))\n");
+        double expected = 1;
+        for (int i = 0; i < size; i++) {
+            expected = expected / 2 + i;
+        }
+        Check.equal(NumberValue.of(expected) + "\n", out, "reduce applies the function in order");
+    }
+
+    private static void shadowing() throws Exception {
+        String out = Check.run(FUNCTIONS + "count = 3\nprint count\nprint (map sq [1 2 count])\n" +
+                               "func tally(filter) {\n return (+ filter 1)\n}\nprint (tally 4)\n" +
+                               "func map(a b) {\n return (+ a b)\n}\nprint (map 1 2)\n");
+        Check.equal("3\n149\n5\n3\n", out, "variables, parameters and functions named like the built-ins");
+    }
+
+    private static ListValue list(int size) {
+        DataValue[] items = new DataValue[size];
+        for (int i = 0; i < size; i++) {
+            items[i] = NumberValue.of(i);
+        }
+        return new ListValue(Rope.of(items));
+    }
+}
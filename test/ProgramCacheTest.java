@@ -0,0 +1,91 @@
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.stream.Stream;
+
+/**
+ * Behaviour tests for ProgramCache: a program file's cache is used on the next
+ *   run, and a cache that is stale (the source changed), damaged (a byte changed
+ *   or the file cut short) or written for another source (a different program, or
+ *   the same program at another path) is not used; the source is parsed again and
+ *   the cache saved again.  The tests use caches written next to the source, so
+ *   they are skipped when run with -Dsilly.cache.dir or -Dsilly.cache=false.
+ *   @version 10/18/26
+ */
+public class ProgramCacheTest {
+    private static final String FIRST = "x = 3\nfunc twice(n) {\n return (* n 2)\n}\nprint (twice x)\nprint \"one\"\n";
+    private static final String SECOND = "x = 4\nfunc twice(n) {\n return (* n 2)\n}\nprint (twice x)\nprint \"two\"\n";
+    private static final String OTHER = "print [1 2 3]\n";
+
+    public static void main(String[] args) throws Exception {
+        ProgramCacheTest.run();
+        Check.finish("ProgramCacheTest");
+    }
+
+    public static void run() throws Exception {
+        if (System.getProperty("silly.cache.dir") != null || "false".equals(System.getProperty("silly.cache"))) {
+            System.out.println("ProgramCacheTest skipped (the cache is not written next to the source)");
+            return;
+        }
+        Path dir = Files.createTempDirectory("silly-cache-test");
+        try {
+            Path source = dir.resolve("prog.txt");
+            Path cache = dir.resolve("prog.sillyc");
+            Files.writeString(source, FIRST);
+            ProgramCacheTest.check(source, false, "6\none\n", "first run");
+            Check.isTrue(Files.isRegularFile(cache), "cache saved next to the source");
+            ProgramCacheTest.check(source, true, "6\none\n", "second run");
+
+            // the same length, so only the digest tells them apart
+            Files.writeString(source, SECOND);
+            ProgramCacheTest.check(source, false, "8\ntwo\n", "changed source");
+            ProgramCacheTest.check(source, true, "8\ntwo\n", "run after the change");
+
+            byte[] good = Files.readAllBytes(cache);
+            for (int at : new int[] { 9, good.length / 2, good.length - 1 }) {
+                byte[] bad = good.clone();
+                bad[at] ^= 0x10;
+                Files.write(cache, bad);
+                ProgramCacheTest.check(source, false, "8\ntwo\n", "byte " + at + " of the cache changed");
+                Check.isTrue(Arrays.equals(good, Files.readAllBytes(cache)), "damaged cache replaced");
+            }
+            Files.write(cache, Arrays.copyOf(good, good.length / 2));
+            ProgramCacheTest.check(source, false, "8\ntwo\n", "cache cut short");
+            Files.write(cache, new byte[0]);
+            ProgramCacheTest.check(source, false, "8\ntwo\n", "empty cache");
+            ProgramCacheTest.check(source, true, "8\ntwo\n", "run after the damage");
+
+            Path other = dir.resolve("other.txt");
+            Files.writeString(other, OTHER);
+            ProgramCacheTest.check(other, false, "123\n", "another program");
+            Files.copy(dir.resolve("other.sillyc"), cache, StandardCopyOption.REPLACE_EXISTING);
+            ProgramCacheTest.check(source, false, "8\ntwo\n", "another program's cache");
+
+            Path copy = Files.createDirectory(dir.resolve("copy")).resolve("prog.txt");
+            Files.writeString(copy, SECOND);
+            Files.copy(cache, dir.resolve("copy").resolve("prog.sillyc"));
+            ProgramCacheTest.check(copy, false, "8\ntwo\n", "the same program's cache from another path");
+            ProgramCacheTest.check(copy, true, "8\ntwo\n", "run of the copy");
+            ProgramCacheTest.check(source, true, "8\ntwo\n", "run of the original");
+        } finally {
+            try (Stream<Path> files = Files.walk(dir)) {
+                files.sorted((a, b) -> b.compareTo(a)).forEach(path -> path.toFile().delete());
+            }
+        }
+    }
+
+    /**
+     * Checks whether a program file's cache is used, then compiles and runs it.
+     *   @param source the program file
+     *   @param cached true if its cache should be used
+     *   @param expected what the program should print
+     *   @param what a description of the run
+     */
+    private static void check(Path source, boolean cached, String expected, String what) throws Exception {
+        Check.equal(cached, new ProgramCache(source.toString()).isCached(), what + ": cache used");
+        RunContext context = new RunContext(new MemorySink());
+        new SillyEngine().compileFile(source.toString()).run(context);
+        Check.equal(expected, context.getOutput().toString(), what + ": output");
+    }
+}
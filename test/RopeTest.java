@@ -0,0 +1,148 @@
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Behaviour tests for Rope: concatenation keeps the items in order, leaves both
+ *   operands unchanged and keeps the tree AVL-balanced (so its depth stays within
+ *   about 1.44 log2 of its size), and indexing, iteration and sublists agree.
+ *   @version 10/18/26
+ */
+public class RopeTest {
+    public static void main(String[] args) throws Exception {
+        RopeTest.run();
+        Check.finish("RopeTest");
+    }
+
+    public static void run() throws Exception {
+        RopeTest.appendOneAtATime();
+        RopeTest.prependOneAtATime();
+        RopeTest.randomConcatenations();
+        RopeTest.operandsUnchanged();
+        RopeTest.text();
+        RopeTest.subList();
+        RopeTest.programs();
+    }
+
+    private static void appendOneAtATime() {
+        Rope rope = Rope.EMPTY;
+        List<DataValue> model = new ArrayList<DataValue>();
+        for (int i = 0; i < 10000; i++) {
+            DataValue val = NumberValue.of(i);
+            rope = rope.concat(Rope.of(new DataValue[] { val }));
+            model.add(val);
+        }
+        RopeTest.checkSame(model, rope, "appending one item at a time");
+    }
+
+    private static void prependOneAtATime() {
+        Rope rope = Rope.EMPTY;
+        List<DataValue> model = new ArrayList<DataValue>();
+        for (int i = 0; i < 10000; i++) {
+            DataValue val = NumberValue.of(i);
+            rope = Rope.of(new DataValue[] { val }).concat(rope);
+            model.add(0, val);
+        }
+        RopeTest.checkSame(model, rope, "prepending one item at a time");
+    }
+
+    private static void randomConcatenations() {
+        Random random = new Random(533);
+        List<Rope> ropes = new ArrayList<Rope>();
+        List<List<DataValue>> models = new ArrayList<List<DataValue>>();
+        for (int i = 0; i < 64; i++) {
+            int size = random.nextInt(100);
+            DataValue[] items = new DataValue[size];
+            for (int j = 0; j < size; j++) {
+                items[j] = NumberValue.of(random.nextInt(1000));
+            }
+            ropes.add(Rope.of(items));
+            models.add(new ArrayList<DataValue>(List.of(items)));
+        }
+        for (int step = 0; step < 2000; step++) {
+            int a = random.nextInt(ropes.size());
+            int b = random.nextInt(ropes.size());
+            if (ropes.get(a).size() + ropes.get(b).size() > 50000) {
+                continue;
+            }
+            Rope joined = ropes.get(a).concat(ropes.get(b));
+            List<DataValue> model = new ArrayList<DataValue>(models.get(a));
+            model.addAll(models.get(b));
+            int into = random.nextInt(ropes.size());
+            ropes.set(into, joined);
+            models.set(into, model);
+        }
+        for (int i = 0; i < ropes.size(); i++) {
+            RopeTest.checkSame(models.get(i), ropes.get(i), "random concatenation " + i);
+        }
+    }
+
+    private static void operandsUnchanged() {
+        Rope left = Rope.EMPTY;
+        for (int i = 0; i < 500; i++) {
+            left = left.concat(Rope.of(new DataValue[] { NumberValue.of(i) }));
+        }
+        Rope right = Rope.of(new DataValue[] { NumberValue.of(-1), NumberValue.of(-2) });
+        Rope joined = left.concat(right);
+        Check.equal(502, joined.size(), "size of the concatenation");
+        Check.equal(500, left.size(), "left operand keeps its size");
+        Check.equal(NumberValue.of(499), left.get(499), "left operand keeps its last item");
+        Check.equal(2, right.size(), "right operand keeps its size");
+        Check.equal(NumberValue.of(-2), joined.get(501), "last item of the concatenation");
+        Check.isTrue(Rope.EMPTY.concat(right) == right, "concatenating onto the empty rope shares the other rope");
+        Check.isTrue(right.concat(Rope.EMPTY) == right, "concatenating the empty rope shares this rope");
+    }
+
+    private static void text() {
+        Rope rope = Rope.of("abc").concat(Rope.of("def"));
+        StringBuilder sb = new StringBuilder();
+        rope.appendTo(sb);
+        Check.equal("abcdef", sb.toString(), "text of concatenated strings");
+        Check.equal(CharValue.of('e'), rope.get(4), "character indexed in a concatenated string");
+
+        Rope mixed = Rope.of("xy").concat(Rope.of(new DataValue[] { NumberValue.of(7) })).concat(Rope.of("z"));
+        Check.equal(4, mixed.size(), "size of a rope mixing text and items");
+        Check.equal(NumberValue.of(7), mixed.get(2), "item between two runs of text");
+        Check.equal(CharValue.of('z'), mixed.get(3), "text after an item");
+    }
+
+    private static void subList() {
+        Rope rope = Rope.EMPTY;
+        List<DataValue> model = new ArrayList<DataValue>();
+        for (int i = 0; i < 1000; i++) {
+            DataValue val = NumberValue.of(i * 3);
+            rope = rope.concat(Rope.of(new DataValue[] { val }));
+            model.add(val);
+        }
+        Check.equal(model.subList(100, 900), rope.subList(100, 900), "sublist across many leaves");
+        Check.equal(model.subList(0, 0), rope.subList(0, 0), "empty sublist");
+        Check.equal(model, Rope.of(rope.subList(0, 1000)), "rope built from a full sublist");
+    }
+
+    private static void programs() throws Exception {
+        String out = Check.run("s = \"\"\nrepeat 1000 {\n s = (cat s \"ab\")\n}\nprint (len s)\nprint (get s 1999)\n" +
+                               "l = []\nrepeat 300 {\n l = (cat [l] l)\n}\nprint (len l)\n");
+        Check.equal("2000\nb\n300\n", out, "strings and lists built by cat in a program");
+    }
+
+    /**
+     * Checks that a rope holds the same items as a list (by indexing and by
+     * iterating) and that it is balanced.
+     */
+    private static void checkSame(List<DataValue> model, Rope rope, String what) {
+        Check.equal(model.size(), rope.size(), what + ": size");
+        boolean same = true;
+        for (int i = 0; i < model.size() && same; i++) {
+            same = model.get(i).equals(rope.get(i));
+        }
+        Check.isTrue(same, what + ": items by index");
+        Iterator<DataValue> items = rope.iterator();
+        for (int i = 0; i < model.size() && same; i++) {
+            same = items.hasNext() && model.get(i).equals(items.next());
+        }
+        Check.isTrue(same && !items.hasNext(), what + ": items by iterator");
+        double bound = 1.4405 * Math.log(rope.size() + 2) / Math.log(2);
+        Check.isTrue(rope.depth <= bound, what + ": depth " + rope.depth + " within the AVL bound " + bound);
+    }
+}